@@ -101,20 +101,28 @@ export const bookingService = {
     api.get('/bookings/weekly', { params: { startDate, endDate } }),
   getCourtWeeklyBookings: (courtId, startDate, endDate) =>
     api.get(`/bookings/court/${courtId}/weekly`, { params: { startDate, endDate } }),
-  getMyBookings: () => api.get('/bookings/my-bookings')
+  // Base64 occupancy bitsets per court and day, see ScheduleGrid on the backend
+  getScheduleGrid: (startDate, endDate, slotMinutes = 30) =>
+    api.get('/bookings/grid', { params: { startDate, endDate, slotMinutes } }),
+  // Keyset pages: pass back nextCursor to get the following page
+  getMyBookings: (cursor, size = 20) =>
+    api.get('/bookings/my-bookings/page', { params: { cursor, size } })
 }
 
 // Admin Service
 export const adminService = {
-  getPendingBookings: () => api.get('/admin/bookings/pending'),
+  getPendingBookings: (cursor, size = 20) =>
+    api.get('/admin/bookings/pending/page', { params: { cursor, size } }),
   approveBooking: (bookingId) => api.put(`/admin/bookings/${bookingId}/approve`),
   rejectBooking: (bookingId) => api.put(`/admin/bookings/${bookingId}/reject`)
 }
 
 // Notification Service
 export const notificationService = {
-  getNotifications: () => api.get('/notifications'),
-  getUnreadNotifications: () => api.get('/notifications/unread'),
+  getNotifications: (cursor, size = 20) =>
+    api.get('/notifications/page', { params: { cursor, size } }),
+  getUnreadNotifications: (cursor, size = 20) =>
+    api.get('/notifications/unread/page', { params: { cursor, size } }),
   markAsRead: (id) => api.put(`/notifications/${id}/read`),
   markAllAsRead: () => api.put('/notifications/read-all')
 }
@@ -131,15 +131,104 @@ CREATE TABLE notifications (
 -- =========================================
 -- 8. INDEXES
 -- =========================================
+CREATE INDEX idx_users_role
+ON users (role_id);
+
 CREATE INDEX idx_booking_calendar
 ON bookings (court_id, booking_date, start_time, end_time)
 WHERE status = 'APPROVED';
 
+-- Keyset pagination on (created_at, id)
 CREATE INDEX idx_booking_pending
-ON bookings (status, created_at);
+ON bookings (status, created_at, id);
+
+CREATE INDEX idx_booking_user_recent
+ON bookings (user_id, created_at DESC, id DESC);
 
 CREATE INDEX idx_notifications_user
-ON notifications (receiver_id, is_read, created_at);
+ON notifications (receiver_id, is_read, created_at, id);
+
+-- Finds retention candidates; partial, so inserts of unread notifications never touch it
+CREATE INDEX idx_notifications_read_age
+ON notifications (created_at)
+WHERE is_read = TRUE;
+
+CREATE INDEX idx_notifications_recent
+ON notifications (receiver_id, created_at, id);
+
+-- =========================================
+-- 9. EMAIL OUTBOX
+-- =========================================
+CREATE TABLE outbox_messages (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    recipient VARCHAR(100) NOT NULL,
+    subject VARCHAR(200) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP
+);
+
+CREATE INDEX idx_outbox_due
+ON outbox_messages (status, next_attempt_at);
+
+-- Finds delivered rows to purge; partial, so pending rows never touch it
+CREATE INDEX idx_outbox_sent_age
+ON outbox_messages (sent_at)
+WHERE status = 'SENT';
+
+-- =========================================
+-- 10. NOTIFICATION ARCHIVE
+-- =========================================
+-- Filled by the retention job; no foreign keys so archiving never blocks on users or bookings
+CREATE TABLE notifications_archive (
+    id UUID PRIMARY KEY,
+    receiver_id UUID NOT NULL,
+    booking_id UUID,
+    title VARCHAR(200),
+    content TEXT,
+    type VARCHAR(20),
+    created_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_notifications_archive_user
+ON notifications_archive (receiver_id, created_at);
+
+-- =========================================
+-- 11. REFRESH TOKENS
+-- =========================================
+-- One row per logged-in device; token_hash is SHA-256 of the refresh token's jti
+CREATE TABLE refresh_tokens (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL,
+    token_hash VARCHAR(64) NOT NULL,
+    device VARCHAR(200),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP,
+
+    CONSTRAINT fk_refresh_token_user
+        FOREIGN KEY (user_id)
+        REFERENCES users(id)
+);
+
+CREATE UNIQUE INDEX idx_refresh_tokens_hash
+ON refresh_tokens (token_hash);
+
+CREATE INDEX idx_refresh_tokens_user
+ON refresh_tokens (user_id);
+
+CREATE INDEX idx_refresh_tokens_expiry
+ON refresh_tokens (expires_at);
+
+-- Reloads the revoked-session filter; partial, so live sessions never touch it
+CREATE INDEX idx_refresh_tokens_revoked
+ON refresh_tokens (revoked_at)
+WHERE revoked_at IS NOT NULL;
 
 COMMIT;
 
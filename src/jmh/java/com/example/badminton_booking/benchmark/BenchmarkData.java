@@ -0,0 +1,76 @@
+package com.example.badminton_booking.benchmark;
+
+import com.example.badminton_booking.entity.Booking;
+import com.example.badminton_booking.entity.Court;
+import com.example.badminton_booking.entity.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Detached entities shaped like a busy week, for benchmarks that must not touch a database.
+ */
+public final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    public static List<Court> courts(int count) {
+        List<Court> courts = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Court court = new Court();
+            court.setId(i);
+            court.setName("Sân " + i);
+            court.setOpenTime(LocalTime.of(6, 0));
+            court.setCloseTime(LocalTime.of(22, 0));
+            courts.add(court);
+        }
+        return courts;
+    }
+
+    public static List<Booking> bookings(int count, long seed) {
+        Random random = new Random(seed);
+        List<Court> courts = courts(6);
+        User admin = user(random, "admin");
+        List<User> players = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            players.add(user(random, "player" + i));
+        }
+
+        LocalDate monday = LocalDate.of(2026, 1, 5);
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Booking booking = new Booking();
+            booking.setId(new UUID(random.nextLong(), random.nextLong()));
+            booking.setUser(players.get(random.nextInt(players.size())));
+            booking.setCourt(courts.get(random.nextInt(courts.size())));
+            booking.setBookingDate(monday.plusDays(random.nextInt(7)));
+            LocalTime start = LocalTime.of(6 + random.nextInt(15), random.nextBoolean() ? 0 : 30);
+            booking.setStartTime(start);
+            booking.setEndTime(start.plusMinutes(60));
+            booking.setNote(random.nextInt(3) == 0 ? "Đánh đôi, cần mượn vợt" : null);
+            booking.setCreatedAt(LocalDateTime.of(2026, 1, 1, 8, 0).plusMinutes(i));
+            if (random.nextBoolean()) {
+                booking.setStatus("APPROVED");
+                booking.setApprovedBy(admin);
+                booking.setApprovedAt(booking.getCreatedAt().plusHours(2));
+            }
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    private static User user(Random random, String name) {
+        User user = new User();
+        user.setId(new UUID(random.nextLong(), random.nextLong()));
+        user.setEmail(name + "@test.com");
+        user.setFullName("Nguyễn Văn " + name);
+        user.setPhone("09" + (10_000_000 + random.nextInt(89_999_999)));
+        return user;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.badminton_booking.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks under src/jmh/java from Maven:
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=BenchmarkRunnerTest -Djmh.include=JwtTokenProviderBenchmark
+ * </pre>
+ * Results are written to target/jmh-result.json.
+ */
+@Tag("benchmark")
+class BenchmarkRunnerTest {
+
+    @Test
+    void runBenchmarks() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(System.getProperty("jmh.include", "com.example.badminton_booking.*"))
+                .forks(Integer.getInteger("jmh.forks", 1))
+                .warmupIterations(Integer.getInteger("jmh.warmupIterations", 3))
+                .measurementIterations(Integer.getInteger("jmh.measurementIterations", 5))
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("jmh.result", "target/jmh-result.json"))
+                .build();
+        new Runner(options).run();
+    }
+}
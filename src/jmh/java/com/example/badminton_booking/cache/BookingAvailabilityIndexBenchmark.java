@@ -0,0 +1,87 @@
+package com.example.badminton_booking.cache;
+
+import com.example.badminton_booking.entity.Booking;
+import com.example.badminton_booking.entity.Court;
+import com.example.badminton_booking.repository.BookingRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overlap checks done by {@code createBooking}. The repository is a stub that returns no rows,
+ * so only the in-memory index is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(time = 2)
+@Measurement(time = 2)
+public class BookingAvailabilityIndexBenchmark {
+
+    private static final int ALIGNED_COURT = 1;
+    private static final int UNALIGNED_COURT = 2;
+
+    // Hourly bookings from 06:00, leaving every other hour free
+    @Param({"4", "8"})
+    public int bookingsPerDay;
+
+    private BookingAvailabilityIndex index;
+    private LocalDate date;
+
+    @Setup
+    public void setUp() {
+        BookingRepository repository = Mockito.mock(BookingRepository.class);
+        Mockito.when(repository.findActiveSlotsFrom(Mockito.any())).thenReturn(List.of());
+        index = new BookingAvailabilityIndex(repository);
+        index.warmUp();
+
+        date = LocalDate.now().plusDays(1);
+        for (int i = 0; i < bookingsPerDay; i++) {
+            LocalTime start = LocalTime.of(6 + i * 2, 0);
+            index.reserve(booking(ALIGNED_COURT, start, start.plusHours(1)));
+            index.reserve(booking(UNALIGNED_COURT, start.plusMinutes(7), start.plusMinutes(67)));
+        }
+    }
+
+    @Benchmark
+    public boolean freeSlot() {
+        return index.isSlotTaken(ALIGNED_COURT, date, LocalTime.of(7, 0), LocalTime.of(8, 0));
+    }
+
+    @Benchmark
+    public boolean takenSlot() {
+        return index.isSlotTaken(ALIGNED_COURT, date, LocalTime.of(6, 30), LocalTime.of(7, 30));
+    }
+
+    // Bitset hit that has to be confirmed against the exact intervals
+    @Benchmark
+    public boolean unalignedNearMiss() {
+        return index.isSlotTaken(UNALIGNED_COURT, date, LocalTime.of(7, 8), LocalTime.of(8, 5));
+    }
+
+    private Booking booking(int courtId, LocalTime start, LocalTime end) {
+        Court court = new Court();
+        court.setId(courtId);
+        Booking booking = new Booking();
+        booking.setId(UUID.randomUUID());
+        booking.setCourt(court);
+        booking.setBookingDate(date);
+        booking.setStartTime(start);
+        booking.setEndTime(end);
+        return booking;
+    }
+}
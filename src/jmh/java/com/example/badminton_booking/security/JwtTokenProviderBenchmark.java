@@ -0,0 +1,77 @@
+package com.example.badminton_booking.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token validation as done per authenticated request. {@code legacyValidate} reproduces the
+ * previous provider (key and parser rebuilt on every extraction, two parses per validation) as
+ * the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(time = 2)
+@Measurement(time = 2)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private JwtTokenProvider cached;
+    private JwtTokenProvider uncached;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtTokenProvider(SECRET, 3_600_000L, 604_800_000L, 1024);
+        uncached = new JwtTokenProvider(SECRET, 3_600_000L, 604_800_000L, 0);
+        user = User.withUsername("player@test.com").password("x").authorities("ROLE_USER").build();
+        token = cached.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public boolean legacyValidate() {
+        String username = legacyClaims(token).getSubject();
+        return username.equals(user.getUsername()) && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean validateUncached() {
+        return uncached.validateToken(uncached.parseToken(token), user);
+    }
+
+    @Benchmark
+    public boolean validateCached() {
+        return cached.validateToken(cached.parseToken(token), user);
+    }
+
+    @Benchmark
+    public String generate() {
+        return cached.generateAccessToken(user);
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
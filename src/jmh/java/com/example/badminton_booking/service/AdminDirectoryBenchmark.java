@@ -0,0 +1,122 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.BadmintonBookingApplication;
+import com.example.badminton_booking.cache.AdminDirectory;
+import com.example.badminton_booking.dto.BookingRequest;
+import com.example.badminton_booking.dto.BookingResponse;
+import com.example.badminton_booking.dto.UserContact;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.CourtRepository;
+import com.example.badminton_booking.repository.RoleRepository;
+import com.example.badminton_booking.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * createBooking (and the admin lookup its fan-out depends on) as the users table grows, on the
+ * H2 test profile. Each user count runs in its own fork after the same warm-up, so the numbers
+ * are comparable:
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=BenchmarkRunnerTest -Djmh.include=AdminDirectoryBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(time = 5)
+@Measurement(time = 5)
+public class AdminDirectoryBenchmark {
+
+    private static final int INSERT_CHUNK = 5_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int users;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private AdminDirectory adminDirectory;
+    private Integer courtId;
+    private UUID playerId;
+    private int dayOffset = 30;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BadmintonBookingApplication.class)
+                .profiles("h2")
+                .web(WebApplicationType.NONE)
+                .properties("mail.outbox.concurrency=0", "spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run();
+        bookingService = context.getBean(BookingService.class);
+        adminDirectory = context.getBean(AdminDirectory.class);
+        courtId = context.getBean(CourtRepository.class).findByIsActiveTrue().get(0).getId();
+
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        User player = new User();
+        player.setEmail("benchmark-" + UUID.randomUUID() + "@test.com");
+        player.setPassword("not-used");
+        player.setFullName("Benchmark Player");
+        player.setRole(roleRepository.findByName("USER").orElseThrow());
+        player.setIsActive(true);
+        playerId = userRepository.save(player).getId();
+
+        Integer roleId = player.getRole().getId();
+        seedUsers(context.getBean(JdbcTemplate.class), users - (int) userRepository.count(), roleId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // A new day every call, so the slot is always free
+    @Benchmark
+    public BookingResponse createBooking() {
+        BookingRequest request = new BookingRequest();
+        request.setCourtId(courtId);
+        request.setBookingDate(LocalDate.now().plusDays(dayOffset++));
+        request.setStartTime(LocalTime.of(18, 0));
+        request.setEndTime(LocalTime.of(20, 0));
+        return bookingService.createBooking(playerId, request);
+    }
+
+    @Benchmark
+    public List<UserContact> adminLookup() {
+        return adminDirectory.getAdmins();
+    }
+
+    private static void seedUsers(JdbcTemplate jdbcTemplate, int count, Integer roleId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int done = 0; done < count; done += INSERT_CHUNK) {
+            List<Object[]> rows = new ArrayList<>(INSERT_CHUNK);
+            for (int i = done; i < Math.min(count, done + INSERT_CHUNK); i++) {
+                UUID id = UUID.randomUUID();
+                rows.add(new Object[]{id, "member-" + id + "@test.com", "x", "Member " + i, roleId, now, now});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO users (id, email, password, full_name, role_id, is_active, " +
+                    "created_at, updated_at) VALUES (?, ?, ?, ?, ?, TRUE, ?, ?)", rows);
+        }
+    }
+}
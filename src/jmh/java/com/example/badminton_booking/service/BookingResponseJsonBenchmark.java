@@ -0,0 +1,45 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.benchmark.BenchmarkData;
+import com.example.badminton_booking.dto.BookingResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of a {@code List<BookingResponse>}, as returned by the weekly and admin endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(time = 2)
+@Measurement(time = 2)
+public class BookingResponseJsonBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private List<BookingResponse> responses;
+
+    @Setup
+    public void setUp() {
+        responses = BenchmarkData.bookings(size, 42).stream().map(BookingService::convertToResponse).toList();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return jsonMapper.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.benchmark.BenchmarkData;
+import com.example.badminton_booking.dto.BookingResponse;
+import com.example.badminton_booking.entity.Booking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Entity-to-DTO mapping used by every booking list endpoint, on detached entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(time = 2)
+@Measurement(time = 2)
+public class BookingResponseMappingBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private List<Booking> bookings;
+
+    @Setup
+    public void setUp() {
+        bookings = BenchmarkData.bookings(size, 42);
+    }
+
+    @Benchmark
+    public List<BookingResponse> convertToResponse() {
+        return bookings.stream().map(BookingService::convertToResponse).collect(Collectors.toList());
+    }
+}
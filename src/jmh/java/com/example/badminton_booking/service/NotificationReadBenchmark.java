@@ -0,0 +1,141 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.BadmintonBookingApplication;
+import com.example.badminton_booking.entity.Booking;
+import com.example.badminton_booking.entity.Notification;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.BookingRepository;
+import com.example.badminton_booking.repository.CourtRepository;
+import com.example.badminton_booking.repository.NotificationRepository;
+import com.example.badminton_booking.repository.RoleRepository;
+import com.example.badminton_booking.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unread badge and "mark all as read" for one user holding {@code notifications} rows, on the
+ * H2 test profile. The entity-loop variants reproduce what the endpoints used to do:
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=BenchmarkRunnerTest -Djmh.include=NotificationReadBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(time = 5)
+@Measurement(time = 5)
+public class NotificationReadBenchmark {
+
+    @Param({"50000"})
+    public int notifications;
+
+    private ConfigurableApplicationContext context;
+    private NotificationService notificationService;
+    private NotificationRepository notificationRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private UUID userId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BadmintonBookingApplication.class)
+                .profiles("h2")
+                .web(WebApplicationType.NONE)
+                .properties("mail.outbox.concurrency=0", "spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run();
+        notificationService = context.getBean(NotificationService.class);
+        notificationRepository = context.getBean(NotificationRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        User user = new User();
+        user.setEmail("benchmark-" + UUID.randomUUID() + "@test.com");
+        user.setPassword("not-used");
+        user.setFullName("Benchmark Player");
+        user.setRole(context.getBean(RoleRepository.class).findByName("USER").orElseThrow());
+        user.setIsActive(true);
+        user = context.getBean(UserRepository.class).save(user);
+        userId = user.getId();
+
+        Booking booking = new Booking();
+        booking.setUser(user);
+        booking.setCourt(context.getBean(CourtRepository.class).findByIsActiveTrue().get(0));
+        booking.setBookingDate(LocalDate.now().plusYears(5));
+        booking.setStartTime(LocalTime.of(8, 0));
+        booking.setEndTime(LocalTime.of(9, 0));
+        UUID bookingId = context.getBean(BookingRepository.class).save(booking).getId();
+
+        List<Object[]> rows = new ArrayList<>();
+        LocalDateTime created = LocalDateTime.now().minusDays(30);
+        for (int i = 0; i < notifications; i++) {
+            rows.add(new Object[]{UUID.randomUUID(), userId, bookingId, "Đặt sân thành công",
+                    "Yêu cầu đặt sân đã được xác nhận", "BOOKING_APPROVED", Timestamp.valueOf(created.plusSeconds(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO notifications (id, receiver_id, booking_id, title, content, type, " +
+                "is_read, created_at) VALUES (?, ?, ?, ?, ?, ?, false, ?)", rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Benchmark)
+    public static class AllUnread {
+
+        @Setup(Level.Invocation)
+        public void markUnread(NotificationReadBenchmark benchmark) {
+            benchmark.jdbcTemplate.update("UPDATE notifications SET is_read = false WHERE receiver_id = ?", benchmark.userId);
+        }
+    }
+
+    @Benchmark
+    public long unreadCount() {
+        return notificationService.countUnread(userId);
+    }
+
+    // What the badge cost before: the whole unread list, counted on the client
+    @Benchmark
+    public int unreadCountFromList() {
+        return notificationService.getUnreadNotifications(userId).size();
+    }
+
+    @Benchmark
+    public int markAllAsRead(AllUnread unread) {
+        return notificationService.markAllAsRead(userId);
+    }
+
+    @Benchmark
+    public int markAllAsReadEntityLoop(AllUnread unread) {
+        return transactionTemplate.execute(status -> {
+            List<Notification> unreadList = notificationRepository.findByReceiverIdAndIsReadFalseOrderByCreatedAtDesc(userId);
+            unreadList.forEach(n -> n.setIsRead(true));
+            notificationRepository.saveAll(unreadList);
+            return unreadList.size();
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.badminton_booking.cache;
+
+import com.example.badminton_booking.dto.UserContact;
+import com.example.badminton_booking.event.RoleChangedEvent;
+import com.example.badminton_booking.event.UserChangedEvent;
+import com.example.badminton_booking.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cached roster of ADMIN users used for booking fan-out. Loaded with one role-indexed query and
+ * dropped when an admin (or any role) changes, so the cost no longer depends on the user count.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdminDirectory {
+
+    private static final String ADMIN_ROLE = "ADMIN";
+
+    private final UserRepository userRepository;
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public List<UserContact> getAdmins() {
+        Snapshot current = snapshot;
+        long expected = version.get();
+        if (current != null && current.version() == expected) {
+            return current.admins();
+        }
+
+        List<UserContact> admins = List.copyOf(userRepository.findContactsByRoleName(ADMIN_ROLE));
+        // Only publish if nothing was invalidated while we were loading
+        if (version.get() == expected) {
+            snapshot = new Snapshot(expected, admins);
+        }
+        return admins;
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        // A user leaving the ADMIN role shows up with its new role, so also check the cached roster
+        Snapshot current = snapshot;
+        if (ADMIN_ROLE.equals(event.roleName()) || current == null
+                || current.admins().stream().anyMatch(admin -> admin.id().equals(event.userId()))) {
+            invalidate();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoleChanged(RoleChangedEvent event) {
+        invalidate();
+    }
+
+    private record Snapshot(long version, List<UserContact> admins) {
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.badminton_booking.cache;
+
+import com.example.badminton_booking.dto.BookingSlot;
+import com.example.badminton_booking.entity.Booking;
+import com.example.badminton_booking.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of PENDING and APPROVED bookings, keyed by (courtId, bookingDate).
+ * <p>
+ * Each day is kept as a bitset of {@value #SLOT_MINUTES}-minute slots so that the common
+ * overlap check in {@code createBooking} is a handful of word-wise AND operations instead of
+ * a database round-trip. The {@code no_overlap_booking} exclusion constraint remains the
+ * final guard.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingAvailabilityIndex {
+
+    public static final int SLOT_MINUTES = 5;
+    private static final int SLOT_SECONDS = SLOT_MINUTES * 60;
+    private static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final int WORDS = (SLOTS_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+
+    private final BookingRepository bookingRepository;
+
+    private final ConcurrentHashMap<DayKey, DaySchedule> days = new ConcurrentHashMap<>();
+
+    // Days on or after this date were loaded by warmUp(), so a missing entry means "no bookings"
+    private volatile LocalDate warmedFrom;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDate today = LocalDate.now();
+        Map<DayKey, DaySchedule> loaded = new HashMap<>();
+        List<BookingSlot> slots = bookingRepository.findActiveSlotsFrom(today);
+        for (BookingSlot slot : slots) {
+            loaded.computeIfAbsent(new DayKey(slot.courtId(), slot.bookingDate()), k -> new DaySchedule())
+                    .add(slot.id(), slot.startTime(), slot.endTime());
+        }
+        // Days touched by requests while we were loading are already up to date
+        loaded.forEach(days::putIfAbsent);
+        warmedFrom = today;
+        log.info("Booking availability index warmed with {} bookings across {} court-days", slots.size(), loaded.size());
+    }
+
+    @Scheduled(cron = "${booking.availability.eviction-cron:0 5 0 * * *}")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        warmedFrom = today;
+        days.keySet().removeIf(key -> key.date().isBefore(today));
+    }
+
+    public boolean isSlotTaken(Integer courtId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return schedule(courtId, date).overlaps(startTime.toSecondOfDay(), endTime.toSecondOfDay());
+    }
+
+    /**
+     * Occupancy of the days {@code [startDate, endDate]} in grid form. Days the index covers are
+     * read from it; days before it (history) come from one range query and are not kept, so
+     * browsing old weeks neither costs a query per court and day nor fills the index.
+     */
+    public Occupancy occupancy(LocalDate startDate, LocalDate endDate) {
+        return occupancy(startDate, endDate, warmedFrom);
+    }
+
+    /**
+     * Same as {@link #occupancy(LocalDate, LocalDate)}, but every day comes from one range query.
+     * For when other nodes write bookings that never reach this node's index.
+     */
+    public Occupancy loadOccupancy(LocalDate startDate, LocalDate endDate) {
+        return occupancy(startDate, endDate, null);
+    }
+
+    // Days before warmed (all of them when null) are queried, the rest read from the index
+    private Occupancy occupancy(LocalDate startDate, LocalDate endDate, LocalDate warmed) {
+        Map<DayKey, DaySchedule> history = new HashMap<>();
+        if (warmed == null || startDate.isBefore(warmed)) {
+            LocalDate lastPastDay = warmed == null || endDate.isBefore(warmed) ? endDate : warmed.minusDays(1);
+            for (BookingSlot slot : bookingRepository.findActiveSlotsBetween(startDate, lastPastDay)) {
+                history.computeIfAbsent(new DayKey(slot.courtId(), slot.bookingDate()), k -> new DaySchedule())
+                        .add(slot.id(), slot.startTime(), slot.endTime());
+            }
+        }
+
+        return (courtId, date, from, to, slotMinutes) -> {
+            if (slotMinutes <= 0 || slotMinutes % SLOT_MINUTES != 0) {
+                throw new IllegalArgumentException("slotMinutes must be a positive multiple of " + SLOT_MINUTES);
+            }
+            DayKey key = new DayKey(courtId, date);
+            boolean past = warmed == null || date.isBefore(warmed);
+            // A missing day has no bookings; don't create an entry just for reading
+            DaySchedule schedule = past ? history.get(key) : days.get(key);
+            if (schedule == null) {
+                return new BitSet();
+            }
+            return schedule.occupancy(firstSlot(from.toSecondOfDay()), endSlot(to.toSecondOfDay()),
+                    slotMinutes / SLOT_MINUTES);
+        };
+    }
+
+    /**
+     * Occupancy of {@code [from, to)} on one court and day in slots of {@code slotMinutes}, which
+     * must be a multiple of {@value #SLOT_MINUTES}: bit {@code i} is set when a pending or
+     * approved booking touches the {@code i}-th slot.
+     */
+    @FunctionalInterface
+    public interface Occupancy {
+        BitSet of(Integer courtId, LocalDate date, LocalTime from, LocalTime to, int slotMinutes);
+    }
+
+    /**
+     * Marks the booking's slot as taken. Inside a transaction the mark is undone on rollback,
+     * so concurrent requests see the slot as taken as soon as it is reserved.
+     */
+    public void reserve(Booking booking) {
+        DaySchedule schedule = schedule(booking.getCourt().getId(), booking.getBookingDate());
+        UUID bookingId = booking.getId();
+        if (schedule.add(bookingId, booking.getStartTime(), booking.getEndTime())) {
+            onRollback(() -> schedule.remove(bookingId));
+        }
+    }
+
+    /**
+     * Frees the booking's slot once the surrounding transaction commits.
+     */
+    public void release(Booking booking) {
+        Integer courtId = booking.getCourt().getId();
+        LocalDate date = booking.getBookingDate();
+        UUID bookingId = booking.getId();
+        onCommit(() -> schedule(courtId, date).remove(bookingId));
+    }
+
+    private DaySchedule schedule(Integer courtId, LocalDate date) {
+        DayKey key = new DayKey(courtId, date);
+        DaySchedule schedule = days.get(key);
+        if (schedule != null) {
+            return schedule;
+        }
+
+        LocalDate from = warmedFrom;
+        if (from != null && !date.isBefore(from)) {
+            return days.computeIfAbsent(key, k -> new DaySchedule());
+        }
+
+        // Past days (or requests arriving before warm-up finished) are loaded on demand
+        DaySchedule loaded = new DaySchedule();
+        for (BookingSlot slot : bookingRepository.findActiveSlotsByCourtAndDate(courtId, date)) {
+            loaded.add(slot.id(), slot.startTime(), slot.endTime());
+        }
+        DaySchedule existing = days.putIfAbsent(key, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private static void onCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static void onRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private record DayKey(Integer courtId, LocalDate date) {
+    }
+
+    private record Interval(int start, int end) {
+        boolean aligned() {
+            return start % SLOT_SECONDS == 0 && end % SLOT_SECONDS == 0;
+        }
+    }
+
+    /**
+     * Bookings of one court on one day. The bitset over-approximates each booking to whole
+     * slots, so an empty mask is a definite "free"; a hit is only re-checked against the exact
+     * intervals when a booking or the request does not sit on slot boundaries.
+     */
+    private static final class DaySchedule {
+        private final Map<UUID, Interval> intervals = new HashMap<>();
+        private final long[] occupied = new long[WORDS];
+        private int unaligned;
+
+        synchronized boolean add(UUID bookingId, LocalTime startTime, LocalTime endTime) {
+            Interval interval = new Interval(startTime.toSecondOfDay(), endTime.toSecondOfDay());
+            if (intervals.putIfAbsent(bookingId, interval) != null) {
+                return false;
+            }
+            mark(interval);
+            return true;
+        }
+
+        synchronized boolean remove(UUID bookingId) {
+            if (intervals.remove(bookingId) == null) {
+                return false;
+            }
+            // Neighbouring unaligned bookings may share a slot, so rebuild rather than clear bits
+            Arrays.fill(occupied, 0L);
+            unaligned = 0;
+            intervals.values().forEach(this::mark);
+            return true;
+        }
+
+        synchronized boolean overlaps(int start, int end) {
+            if (!anySet(occupied, firstSlot(start), endSlot(end))) {
+                return false;
+            }
+            Interval request = new Interval(start, end);
+            if (unaligned == 0 && request.aligned()) {
+                return true;
+            }
+            for (Interval interval : intervals.values()) {
+                if (interval.start() < end && interval.end() > start) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized BitSet occupancy(int from, int to, int step) {
+            BitSet result = new BitSet();
+            for (int i = 0, slot = from; slot < to; i++, slot += step) {
+                if (anySet(occupied, slot, Math.min(slot + step, to))) {
+                    result.set(i);
+                }
+            }
+            return result;
+        }
+
+        private void mark(Interval interval) {
+            setRange(occupied, firstSlot(interval.start()), endSlot(interval.end()));
+            if (!interval.aligned()) {
+                unaligned++;
+            }
+        }
+    }
+
+    private static int firstSlot(int second) {
+        return second / SLOT_SECONDS;
+    }
+
+    private static int endSlot(int second) {
+        return Math.min(SLOTS_PER_DAY, (second + SLOT_SECONDS - 1) / SLOT_SECONDS);
+    }
+
+    private static void setRange(long[] words, int from, int to) {
+        for (int w = from / Long.SIZE; from < to && w <= (to - 1) / Long.SIZE; w++) {
+            words[w] |= wordMask(w, from, to);
+        }
+    }
+
+    private static boolean anySet(long[] words, int from, int to) {
+        for (int w = from / Long.SIZE; from < to && w <= (to - 1) / Long.SIZE; w++) {
+            if ((words[w] & wordMask(w, from, to)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Bits of word w that fall inside slot range [from, to)
+    private static long wordMask(int w, int from, int to) {
+        int base = w * Long.SIZE;
+        int lo = Math.max(from, base) - base;
+        int hi = Math.min(to, base + Long.SIZE) - base;
+        long upper = hi == Long.SIZE ? -1L : (1L << hi) - 1;
+        return upper & (-1L << lo);
+    }
+}
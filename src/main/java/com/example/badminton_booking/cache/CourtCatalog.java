@@ -0,0 +1,88 @@
+package com.example.badminton_booking.cache;
+
+import com.example.badminton_booking.entity.Court;
+import com.example.badminton_booking.event.CourtChangedEvent;
+import com.example.badminton_booking.repository.CourtRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * All courts in memory, as one immutable snapshot. Loaded at startup once
+ * {@link com.example.badminton_booking.config.DataInitializer} has run and replaced as a whole
+ * after any court change commits, so court reads and booking validation never query the table.
+ * <p>
+ * The courts handed out are detached copies shared by every caller; treat them as read-only.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CourtCatalog {
+
+    private final CourtRepository courtRepository;
+
+    // Seeded with the start time so versions (and the ETags built from them) never repeat across runs
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+    private volatile Snapshot snapshot;
+
+    public record Snapshot(long version, List<Court> all, List<Court> active, Map<Integer, Court> byId) {
+
+        public Optional<Court> find(Integer id) {
+            return Optional.ofNullable(byId.get(id));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        log.info("Court catalog loaded with {} courts", snapshot().all().size());
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        long expected = version.get();
+        if (current != null && current.version() == expected) {
+            return current;
+        }
+
+        Snapshot loaded = load(expected);
+        // Only publish if no court changed while we were loading
+        if (version.get() == expected) {
+            snapshot = loaded;
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourtChanged(CourtChangedEvent event) {
+        version.incrementAndGet();
+        // Reload now rather than on the next read
+        snapshot();
+    }
+
+    private Snapshot load(long version) {
+        List<Court> all = courtRepository.findAll().stream()
+                .map(CourtCatalog::copy)
+                .sorted(Comparator.comparing(Court::getId))
+                .toList();
+        List<Court> active = all.stream().filter(court -> Boolean.TRUE.equals(court.getIsActive())).toList();
+        Map<Integer, Court> byId = all.stream().collect(Collectors.toUnmodifiableMap(Court::getId, Function.identity()));
+        return new Snapshot(version, all, active, byId);
+    }
+
+    // Never hand out an instance some persistence context is managing
+    private static Court copy(Court court) {
+        return new Court(court.getId(), court.getName(), court.getDescription(), court.getOpenTime(),
+                court.getCloseTime(), court.getIsActive(), court.getCreatedAt());
+    }
+}
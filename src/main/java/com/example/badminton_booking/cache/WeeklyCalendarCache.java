@@ -0,0 +1,183 @@
+package com.example.badminton_booking.cache;
+
+import com.example.badminton_booking.dto.BookingResponse;
+import com.example.badminton_booking.event.BookingChangedEvent;
+import com.example.badminton_booking.event.CourtChangedEvent;
+import com.example.badminton_booking.event.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Read model behind the weekly calendar endpoints: approved bookings bucketed by ISO week
+ * (Monday) and split per court.
+ * <p>
+ * A week is loaded on first read and dropped after commit whenever a booking in it is approved
+ * or an approved booking is rejected, or when a user shown in it changes their name, email or
+ * phone, or when a court is saved. Hit and miss counts are published as the {@code cache.gets}
+ * metric with {@code cache=bookingWeeklyCalendar}.
+ * <p>
+ * Every load of a week takes the next number from a process-wide sequence as its version, so
+ * the highest version across the weeks of a range changes whenever any of them is reloaded.
+ * That is the ETag of the calendar endpoints: while all weeks stay cached, a matching
+ * {@code If-None-Match} is answered from {@link #currentVersion} without touching the database.
+ */
+@Component
+public class WeeklyCalendarCache {
+
+    private static final String APPROVED = "APPROVED";
+
+    private static final Comparator<BookingResponse> CALENDAR_ORDER = Comparator
+            .comparing(BookingResponse::getBookingDate)
+            .thenComparing(BookingResponse::getStartTime)
+            .thenComparing(BookingResponse::getCourtId);
+
+    private final Cache<LocalDate, Week> weeks;
+    // Seeded with the start time so versions from a previous run never match
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis() << 20);
+
+    public WeeklyCalendarCache(MeterRegistry meterRegistry,
+                               @Value("${booking.calendar-cache.max-weeks:104}") long maxWeeks,
+                               @Value("${booking.calendar-cache.ttl-minutes:60}") long ttlMinutes) {
+        this.weeks = Caffeine.newBuilder()
+                .maximumSize(maxWeeks)
+                // Safety net for changes we don't track, such as an admin renaming themselves
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, weeks, "bookingWeeklyCalendar");
+    }
+
+    public record Snapshot(List<BookingResponse> bookings, String version) {
+    }
+
+    /**
+     * Approved bookings between {@code startDate} and {@code endDate} inclusive, on one court or
+     * on all courts when {@code courtId} is null. {@code weekLoader} is given a Monday and must
+     * return that week's approved bookings on all courts.
+     */
+    public List<BookingResponse> getApproved(Integer courtId, LocalDate startDate, LocalDate endDate,
+                                             Function<LocalDate, List<BookingResponse>> weekLoader) {
+        return getSnapshot(courtId, startDate, endDate, weekLoader).bookings();
+    }
+
+    /**
+     * Same as {@link #getApproved}, together with the version of exactly the weeks the bookings
+     * were taken from.
+     */
+    public Snapshot getSnapshot(Integer courtId, LocalDate startDate, LocalDate endDate,
+                                Function<LocalDate, List<BookingResponse>> weekLoader) {
+        if (endDate.isBefore(startDate)) {
+            return new Snapshot(List.of(), tag(0));
+        }
+        List<BookingResponse> result = new ArrayList<>();
+        long version = 0;
+        for (LocalDate monday = weekOf(startDate); !monday.isAfter(endDate); monday = monday.plusWeeks(1)) {
+            Week week = weeks.get(monday, m -> Week.of(weekLoader.apply(m), versions.incrementAndGet()));
+            version = Math.max(version, week.version());
+            List<BookingResponse> bookings = courtId == null ? week.all() : week.byCourt().getOrDefault(courtId, List.of());
+            for (BookingResponse booking : bookings) {
+                if (!booking.getBookingDate().isBefore(startDate) && !booking.getBookingDate().isAfter(endDate)) {
+                    result.add(booking);
+                }
+            }
+        }
+        return new Snapshot(result, tag(version));
+    }
+
+    /**
+     * Version {@link #getSnapshot} would currently return for the range, or null if a week in it
+     * is not cached (it will get a new version when loaded). Does not count as a cache read.
+     */
+    public String currentVersion(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return tag(0);
+        }
+        long version = 0;
+        for (LocalDate monday = weekOf(startDate); !monday.isAfter(endDate); monday = monday.plusWeeks(1)) {
+            Week week = weeks.policy().getIfPresentQuietly(monday);
+            if (week == null) {
+                return null;
+            }
+            version = Math.max(version, week.version());
+        }
+        return tag(version);
+    }
+
+    public void invalidate(LocalDate date) {
+        weeks.invalidate(weekOf(date));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (APPROVED.equals(event.status()) || APPROVED.equals(event.previousStatus())) {
+            invalidate(event.bookingDate());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        // Most user updates (logins, password changes) don't touch what the calendar shows
+        weeks.asMap().forEach((monday, week) -> {
+            if (week.showsStale(event)) {
+                weeks.invalidate(monday);
+            }
+        });
+    }
+
+    // Court names are part of every booking shown
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourtChanged(CourtChangedEvent event) {
+        weeks.invalidateAll();
+    }
+
+    private static String tag(long version) {
+        return "weeks-" + Long.toString(version, 36);
+    }
+
+    private static LocalDate weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private record Week(List<BookingResponse> all, Map<Integer, List<BookingResponse>> byCourt, long version) {
+
+        static Week of(List<BookingResponse> bookings, long version) {
+            List<BookingResponse> sorted = bookings.stream().sorted(CALENDAR_ORDER).toList();
+            Map<Integer, List<BookingResponse>> byCourt = new LinkedHashMap<>();
+            for (BookingResponse booking : sorted) {
+                byCourt.computeIfAbsent(booking.getCourtId(), k -> new ArrayList<>()).add(booking);
+            }
+            byCourt.replaceAll((courtId, list) -> List.copyOf(list));
+            return new Week(sorted, Map.copyOf(byCourt), version);
+        }
+
+        boolean showsStale(UserChangedEvent event) {
+            for (BookingResponse booking : all) {
+                if (booking.getUserId().equals(event.userId())
+                        && !(Objects.equals(booking.getUserFullName(), event.fullName())
+                        && Objects.equals(booking.getUserEmail(), event.email())
+                        && Objects.equals(booking.getUserPhone(), event.phone()))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.badminton_booking.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open-in-view as Spring Boot registers it (Boot backs off when this bean exists), except on
+ * the endpoints that hash passwords: there the first query would otherwise pin a pooled
+ * connection for the whole BCrypt wait. Those endpoints only return DTOs.
+ */
+@Configuration
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+
+    private static final String[] PASSWORD_HASHING_PATHS = {
+            "/api/auth/login",
+            "/api/auth/register",
+            "/api/auth/change-password"
+    };
+
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor())
+                .excludePathPatterns(PASSWORD_HASHING_PATHS);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.badminton_booking.config;
+
+import com.example.badminton_booking.security.AdaptiveBCryptPasswordEncoder;
+import com.example.badminton_booking.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+public class PasswordEncoderConfig {
+
+    /**
+     * New hashes are stored as {@code {bcrypt}$2a$<cost>$...}. Hashes from before the prefix,
+     * or at a lower cost, still match and are rewritten on the next successful login; stronger
+     * ones only when {@code security.password.allow-downgrade} is set.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${security.password.strength:12}") int strength,
+                                           @Value("${security.password.allow-downgrade:false}") boolean allowDowngrade,
+                                           @Value("${security.password.target-hash-ms:250}") long targetHashMillis,
+                                           @Value("${security.password.min-strength:10}") int minStrength,
+                                           @Value("${security.password.max-strength:14}") int maxStrength,
+                                           @Value("${security.password.threads:0}") int threads,
+                                           @Value("${security.password.queue-capacity:64}") int queueCapacity,
+                                           @Value("${security.password.wait-timeout-ms:5000}") long waitTimeoutMillis) {
+        // Calibration is opt-in: it can pick a different cost per node and per restart
+        int cost = strength > 0 ? strength
+                : AdaptiveBCryptPasswordEncoder.calibrate(Duration.ofMillis(targetHashMillis), minStrength, maxStrength);
+        AdaptiveBCryptPasswordEncoder bcrypt = new AdaptiveBCryptPasswordEncoder(cost, allowDowngrade);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new BoundedPasswordEncoder(delegating,
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                queueCapacity, Duration.ofMillis(waitTimeoutMillis), meterRegistry);
+    }
+}
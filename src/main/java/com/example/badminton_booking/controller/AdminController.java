@@ -1,15 +1,23 @@
 package com.example.badminton_booking.controller;
 
 import com.example.badminton_booking.dto.BookingResponse;
-import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.dto.BulkBookingRequest;
+import com.example.badminton_booking.dto.BulkBookingResult;
+import com.example.badminton_booking.dto.CursorPage;
 import com.example.badminton_booking.service.AuthService;
+import com.example.badminton_booking.service.BookingExportService;
 import com.example.badminton_booking.service.BookingService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.LocalDate;
 import java.util.UUID;
 
 @RestController
@@ -20,12 +28,46 @@ public class AdminController {
 
     private final BookingService bookingService;
     private final AuthService authService;
+    private final BookingExportService bookingExportService;
 
+    // Deprecated: only the first page (X-Next-Cursor says when there is more), use /bookings/pending/page
+    @Deprecated
     @GetMapping("/bookings/pending")
     public ResponseEntity<?> getPendingBookings() {
         try {
-            List<BookingResponse> bookings = bookingService.getPendingBookings();
-            return ResponseEntity.ok(bookings);
+            CursorPage<BookingResponse> page = bookingService.getPendingBookingsPage(null, CursorPage.MAX_SIZE);
+            return LegacyLists.firstPage(page, "/api/admin/bookings/pending/page");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/bookings/pending/page")
+    public ResponseEntity<?> getPendingBookingsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            CursorPage<BookingResponse> page = bookingService.getPendingBookingsPage(cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Streams the full booking history; memory use does not depend on the number of rows
+    @GetMapping("/bookings/export")
+    public ResponseEntity<?> exportBookings(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            BookingExportService.Format exportFormat = BookingExportService.Format.parse(format);
+            StreamingResponseBody body = out -> bookingExportService.export(from, to, exportFormat, out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"bookings." + exportFormat.getExtension() + "\"")
+                    .body(body);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -34,8 +76,8 @@ public class AdminController {
     @PutMapping("/bookings/{bookingId}/approve")
     public ResponseEntity<?> approveBooking(@PathVariable UUID bookingId) {
         try {
-            User admin = authService.getCurrentUser();
-            BookingResponse response = bookingService.approveBooking(bookingId, admin.getId());
+            UUID adminId = authService.getCurrentUserId();
+            BookingResponse response = bookingService.approveBooking(bookingId, adminId);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -45,12 +87,33 @@ public class AdminController {
     @PutMapping("/bookings/{bookingId}/reject")
     public ResponseEntity<?> rejectBooking(@PathVariable UUID bookingId) {
         try {
-            User admin = authService.getCurrentUser();
-            BookingResponse response = bookingService.rejectBooking(bookingId, admin.getId());
+            UUID adminId = authService.getCurrentUserId();
+            BookingResponse response = bookingService.rejectBooking(bookingId, adminId);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
-}
 
+    @PutMapping("/bookings/bulk/approve")
+    public ResponseEntity<?> bulkApproveBookings(@Valid @RequestBody BulkBookingRequest request) {
+        try {
+            UUID adminId = authService.getCurrentUserId();
+            BulkBookingResult result = bookingService.bulkApprove(request.getBookingIds(), adminId);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/bookings/bulk/reject")
+    public ResponseEntity<?> bulkRejectBookings(@Valid @RequestBody BulkBookingRequest request) {
+        try {
+            UUID adminId = authService.getCurrentUserId();
+            BulkBookingResult result = bookingService.bulkReject(request.getBookingIds(), adminId);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -5,11 +5,13 @@ import com.example.badminton_booking.entity.User;
 import com.example.badminton_booking.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -19,14 +21,16 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
-        AuthResponse response = authService.register(request);
+    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request,
+                                      @RequestHeader(value = HttpHeaders.USER_AGENT, required = false) String userAgent) {
+        AuthResponse response = authService.register(request, userAgent);
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request,
+                                   @RequestHeader(value = HttpHeaders.USER_AGENT, required = false) String userAgent) {
+        AuthResponse response = authService.login(request, userAgent);
         return ResponseEntity.ok(response);
     }
 
@@ -38,8 +42,8 @@ public class AuthController {
 
     @PostMapping("/logout")
     public ResponseEntity<?> logout() {
-        User currentUser = authService.getCurrentUser();
-        authService.logout(currentUser.getId());
+        UUID currentUserId = authService.getCurrentUserId();
+        authService.logout(currentUserId, authService.getCurrentSessionId());
         return ResponseEntity.ok(Map.of("message", "Đăng xuất thành công"));
     }
 
@@ -59,15 +63,15 @@ public class AuthController {
 
     @PutMapping("/profile")
     public ResponseEntity<?> updateProfile(@Valid @RequestBody UpdateProfileRequest request) {
-        User currentUser = authService.getCurrentUser();
-        User updatedUser = authService.updateProfile(currentUser.getId(), request);
+        UUID currentUserId = authService.getCurrentUserId();
+        User updatedUser = authService.updateProfile(currentUserId, request);
         return ResponseEntity.ok(updatedUser);
     }
 
     @PutMapping("/change-password")
     public ResponseEntity<?> changePassword(@Valid @RequestBody ChangePasswordRequest request) {
-        User currentUser = authService.getCurrentUser();
-        authService.changePassword(currentUser.getId(), request);
+        UUID currentUserId = authService.getCurrentUserId();
+        authService.changePassword(currentUserId, request);
         return ResponseEntity.ok(Map.of("message", "Đổi mật khẩu thành công. Vui lòng đăng nhập lại."));
     }
 }
@@ -1,18 +1,26 @@
 package com.example.badminton_booking.controller;
 
+import com.example.badminton_booking.cache.WeeklyCalendarCache;
 import com.example.badminton_booking.dto.BookingRequest;
 import com.example.badminton_booking.dto.BookingResponse;
-import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.dto.CursorPage;
+import com.example.badminton_booking.dto.ScheduleGrid;
 import com.example.badminton_booking.service.AuthService;
 import com.example.badminton_booking.service.BookingService;
+import com.example.badminton_booking.service.ScheduleGridService;
+import com.example.badminton_booking.service.SlotStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -21,13 +29,18 @@ import java.util.UUID;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final SlotStreamService slotStreamService;
+    private final ScheduleGridService scheduleGridService;
     private final AuthService authService;
 
+    // Shows player contact details, so only the browser may keep a copy
+    private static final CacheControl CALENDAR_CACHE = CacheControl.noCache().cachePrivate();
+
     @PostMapping
     public ResponseEntity<?> createBooking(@Valid @RequestBody BookingRequest request) {
         try {
-            User currentUser = authService.getCurrentUser();
-            BookingResponse response = bookingService.createBooking(currentUser.getId(), request);
+            UUID currentUserId = authService.getCurrentUserId();
+            BookingResponse response = bookingService.createBooking(currentUserId, request);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -37,34 +50,78 @@ public class BookingController {
     @GetMapping("/weekly")
     public ResponseEntity<?> getWeeklyBookings(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest webRequest) {
+        return weeklyCalendar(null, startDate, endDate, webRequest);
+    }
+
+    @GetMapping("/court/{courtId}/weekly")
+    public ResponseEntity<?> getCourtWeeklyBookings(
+            @PathVariable Integer courtId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest webRequest) {
+        return weeklyCalendar(courtId, startDate, endDate, webRequest);
+    }
+
+    // Clients revalidate with If-None-Match; unchanged weeks get a 304 without a query
+    private ResponseEntity<?> weeklyCalendar(Integer courtId, LocalDate startDate, LocalDate endDate,
+                                             WebRequest webRequest) {
         try {
-            List<BookingResponse> bookings = bookingService.getWeeklyBookings(startDate, endDate);
-            return ResponseEntity.ok(bookings);
+            String version = bookingService.getWeeklyVersion(startDate, endDate);
+            if (version != null && webRequest.checkNotModified(version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CALENDAR_CACHE).eTag(version).build();
+            }
+            WeeklyCalendarCache.Snapshot snapshot = bookingService.getWeeklySnapshot(courtId, startDate, endDate);
+            return ResponseEntity.ok().cacheControl(CALENDAR_CACHE).eTag(snapshot.version()).body(snapshot.bookings());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
-    @GetMapping("/court/{courtId}/weekly")
-    public ResponseEntity<?> getCourtWeeklyBookings(
-            @PathVariable Integer courtId,
+    // Occupancy bitsets for every active court, see ScheduleGrid for the encoding
+    @GetMapping("/grid")
+    public ResponseEntity<?> getScheduleGrid(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "30") int slotMinutes) {
         try {
-            List<BookingResponse> bookings = bookingService.getBookingsByCourtAndWeek(courtId, startDate, endDate);
-            return ResponseEntity.ok(bookings);
+            ScheduleGrid grid = scheduleGridService.getGrid(startDate, endDate, slotMinutes);
+            return ResponseEntity.ok(grid);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    // Slot taken/freed events for the week containing weekOf; accepts ?access_token= for EventSource
+    @GetMapping(value = "/court/{courtId}/weekly/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCourtWeeklySlots(
+            @PathVariable Integer courtId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekOf) {
+        return slotStreamService.subscribe(courtId, weekOf);
+    }
+
+    // Deprecated: only the first page (X-Next-Cursor says when there is more), use /my-bookings/page
+    @Deprecated
     @GetMapping("/my-bookings")
     public ResponseEntity<?> getMyBookings() {
         try {
-            User currentUser = authService.getCurrentUser();
-            List<BookingResponse> bookings = bookingService.getUserBookings(currentUser.getId());
-            return ResponseEntity.ok(bookings);
+            UUID currentUserId = authService.getCurrentUserId();
+            CursorPage<BookingResponse> page = bookingService.getUserBookingsPage(currentUserId, null, CursorPage.MAX_SIZE);
+            return LegacyLists.firstPage(page, "/api/bookings/my-bookings/page");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/my-bookings/page")
+    public ResponseEntity<?> getMyBookingsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            UUID currentUserId = authService.getCurrentUserId();
+            CursorPage<BookingResponse> page = bookingService.getUserBookingsPage(currentUserId, cursor, size);
+            return ResponseEntity.ok(page);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
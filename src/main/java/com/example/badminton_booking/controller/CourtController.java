@@ -3,8 +3,11 @@ package com.example.badminton_booking.controller;
 import com.example.badminton_booking.entity.Court;
 import com.example.badminton_booking.service.CourtService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,21 +18,32 @@ public class CourtController {
 
     private final CourtService courtService;
 
+    // Clients may keep a copy but must revalidate; an unchanged catalog is a 304 without a query
+    private static final CacheControl CATALOG_CACHE = CacheControl.noCache();
+
     @GetMapping("/list")
-    public ResponseEntity<?> getAllCourts() {
+    public ResponseEntity<?> getAllCourts(WebRequest webRequest) {
         try {
+            String version = courtService.getCatalogVersion();
+            if (webRequest.checkNotModified(version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CATALOG_CACHE).eTag(version).build();
+            }
             List<Court> courts = courtService.getActiveCourts();
-            return ResponseEntity.ok(courts);
+            return ResponseEntity.ok().cacheControl(CATALOG_CACHE).eTag(version).body(courts);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getCourtById(@PathVariable Integer id) {
+    public ResponseEntity<?> getCourtById(@PathVariable Integer id, WebRequest webRequest) {
         try {
+            String version = courtService.getCatalogVersion();
+            if (webRequest.checkNotModified(version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CATALOG_CACHE).eTag(version).build();
+            }
             Court court = courtService.getCourtById(id);
-            return ResponseEntity.ok(court);
+            return ResponseEntity.ok().cacheControl(CATALOG_CACHE).eTag(version).body(court);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -0,0 +1,29 @@
+package com.example.badminton_booking.controller;
+
+import com.example.badminton_booking.dto.CursorPage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Responses of the deprecated list endpoints, which only return the first page. When more rows
+ * exist, {@code X-Next-Cursor} and a {@code Link: rel="next"} to the page endpoint say so, so old
+ * clients can tell the list is incomplete.
+ */
+final class LegacyLists {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private LegacyLists() {
+    }
+
+    static <T> ResponseEntity<List<T>> firstPage(CursorPage<T> page, String pagePath) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor())
+                    .header(HttpHeaders.LINK, "<" + pagePath + "?cursor=" + page.getNextCursor() + ">; rel=\"next\"");
+        }
+        return response.body(page.getItems());
+    }
+}
@@ -1,14 +1,17 @@
 package com.example.badminton_booking.controller;
 
-import com.example.badminton_booking.entity.Notification;
-import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.dto.CursorPage;
+import com.example.badminton_booking.dto.NotificationResponse;
 import com.example.badminton_booking.service.AuthService;
 import com.example.badminton_booking.service.NotificationService;
+import com.example.badminton_booking.service.NotificationStreamService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -17,25 +20,76 @@ import java.util.UUID;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStreamService notificationStreamService;
     private final AuthService authService;
 
+    // EventSource cannot send headers, so this path also accepts ?access_token=
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications() {
+        UUID currentUserId = authService.getCurrentUserId();
+        return notificationStreamService.subscribe(currentUserId);
+    }
+
+    // Deprecated: only the first page (X-Next-Cursor says when there is more), use /page
+    @Deprecated
     @GetMapping
     public ResponseEntity<?> getMyNotifications() {
         try {
-            User currentUser = authService.getCurrentUser();
-            List<Notification> notifications = notificationService.getUserNotifications(currentUser.getId());
-            return ResponseEntity.ok(notifications);
+            UUID currentUserId = authService.getCurrentUserId();
+            CursorPage<NotificationResponse> page = notificationService
+                    .getUserNotificationsPage(currentUserId, null, CursorPage.MAX_SIZE);
+            return LegacyLists.firstPage(page, "/api/notifications/page");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    // Deprecated: only the first page (X-Next-Cursor says when there is more), use /unread/page
+    @Deprecated
     @GetMapping("/unread")
     public ResponseEntity<?> getUnreadNotifications() {
         try {
-            User currentUser = authService.getCurrentUser();
-            List<Notification> notifications = notificationService.getUnreadNotifications(currentUser.getId());
-            return ResponseEntity.ok(notifications);
+            UUID currentUserId = authService.getCurrentUserId();
+            CursorPage<NotificationResponse> page = notificationService
+                    .getUnreadNotificationsPage(currentUserId, null, CursorPage.MAX_SIZE);
+            return LegacyLists.firstPage(page, "/api/notifications/unread/page");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // For the unread badge; avoids pulling the unread list just to count it
+    @GetMapping("/unread/count")
+    public ResponseEntity<?> countUnreadNotifications() {
+        try {
+            UUID currentUserId = authService.getCurrentUserId();
+            return ResponseEntity.ok(Map.of("count", notificationService.countUnread(currentUserId)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<?> getMyNotificationsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            UUID currentUserId = authService.getCurrentUserId();
+            CursorPage<NotificationResponse> page = notificationService.getUserNotificationsPage(currentUserId, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/unread/page")
+    public ResponseEntity<?> getUnreadNotificationsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            UUID currentUserId = authService.getCurrentUserId();
+            CursorPage<NotificationResponse> page = notificationService.getUnreadNotificationsPage(currentUserId, cursor, size);
+            return ResponseEntity.ok(page);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -54,8 +108,8 @@ public class NotificationController {
     @PutMapping("/read-all")
     public ResponseEntity<?> markAllAsRead() {
         try {
-            User currentUser = authService.getCurrentUser();
-            notificationService.markAllAsRead(currentUser.getId());
+            UUID currentUserId = authService.getCurrentUserId();
+            notificationService.markAllAsRead(currentUserId);
             return ResponseEntity.ok("Đã đánh dấu tất cả là đã đọc");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
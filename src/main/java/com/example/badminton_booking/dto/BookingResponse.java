@@ -1,13 +1,18 @@
 package com.example.badminton_booking.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.UUID;
 
+// Field order is the constructor order used by the projections in BookingRepository
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class BookingResponse {
     private UUID id;
     private UUID userId;
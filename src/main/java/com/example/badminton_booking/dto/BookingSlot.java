@@ -0,0 +1,19 @@
+package com.example.badminton_booking.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Lightweight view of a booking's time slot, used to build in-memory indexes
+ * without hydrating the full {@link com.example.badminton_booking.entity.Booking} graph.
+ */
+public record BookingSlot(
+        UUID id,
+        Integer courtId,
+        LocalDate bookingDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        String status
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.badminton_booking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class BulkBookingRequest {
+    @NotEmpty(message = "Danh sách booking không được để trống")
+    private List<UUID> bookingIds;
+}
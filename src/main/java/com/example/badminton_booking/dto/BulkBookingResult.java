@@ -0,0 +1,36 @@
+package com.example.badminton_booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a bulk approve/reject, one item per requested booking in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookingResult {
+    private int succeeded;
+    private int failed;
+    private List<Item> items;
+
+    public static BulkBookingResult of(List<Item> items) {
+        int succeeded = (int) items.stream().filter(Item::isSuccess).count();
+        return new BulkBookingResult(succeeded, items.size() - succeeded, items);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private UUID bookingId;
+        private boolean success;
+        // Status after the call, null when the booking does not exist
+        private String status;
+        private String message;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.badminton_booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Field order is the constructor order used by the projections in NotificationRepository
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationResponse {
+    private UUID id;
+    private UUID bookingId;
+    private String title;
+    private String content;
+    private String type;
+    private Boolean isRead;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,27 @@
+package com.example.badminton_booking.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Which slots are taken, per court and day, without any booking details. Each court's
+ * {@code days} has one entry per date from {@code startDate} to {@code endDate}: the Base64 of a
+ * little-endian bitset where bit {@code i} (byte {@code i / 8}, bit {@code i % 8}) means the slot
+ * starting {@code i * slotMinutes} after {@code openTime} is taken by a pending or approved
+ * booking. A day has {@code ceil((closeTime - openTime) / slotMinutes)} slots.
+ */
+public record ScheduleGrid(
+        LocalDate startDate,
+        LocalDate endDate,
+        int slotMinutes,
+        List<CourtDays> courts
+) {
+    public record CourtDays(
+            Integer courtId,
+            LocalTime openTime,
+            LocalTime closeTime,
+            List<String> days
+    ) {
+    }
+}
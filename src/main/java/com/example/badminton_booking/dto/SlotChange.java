@@ -0,0 +1,21 @@
+package com.example.badminton_booking.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * A court slot becoming taken (a booking was requested, or a rejected one re-approved) or free
+ * again (a booking was rejected). Pending bookings count as taken, as they do for new requests.
+ */
+public record SlotChange(
+        String type,
+        UUID bookingId,
+        Integer courtId,
+        LocalDate bookingDate,
+        LocalTime startTime,
+        LocalTime endTime
+) {
+    public static final String TAKEN = "SLOT_TAKEN";
+    public static final String FREED = "SLOT_FREED";
+}
@@ -0,0 +1,6 @@
+package com.example.badminton_booking.dto;
+
+import java.util.UUID;
+
+public record UserContact(UUID id, String email) {
+}
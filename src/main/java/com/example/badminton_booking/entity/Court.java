@@ -1,5 +1,6 @@
 package com.example.badminton_booking.entity;
 
+import com.example.badminton_booking.entity.listener.CourtEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,6 +12,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "courts")
+@EntityListeners(CourtEntityListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -10,7 +10,10 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user", columnList = "receiver_id, is_read, created_at, id"),
+        @Index(name = "idx_notifications_recent", columnList = "receiver_id, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
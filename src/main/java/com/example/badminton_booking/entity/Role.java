@@ -1,5 +1,6 @@
 package com.example.badminton_booking.entity;
 
+import com.example.badminton_booking.entity.listener.AccountEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -7,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "roles")
+@EntityListeners(AccountEntityListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,36 @@
+package com.example.badminton_booking.entity.listener;
+
+import com.example.badminton_booking.entity.Role;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.event.RoleChangedEvent;
+import com.example.badminton_booking.event.UserChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns JPA lifecycle callbacks on users and roles into application events. Hibernate obtains
+ * this listener from the Spring container, so every write path is covered, not just the services.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof User user) {
+            String roleName = user.getRole() != null ? user.getRole().getName() : null;
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail(), roleName,
+                    user.getFullName(), user.getPhone()));
+        } else if (entity instanceof Role role) {
+            eventPublisher.publishEvent(new RoleChangedEvent(role.getId()));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.badminton_booking.entity.listener;
+
+import com.example.badminton_booking.entity.Court;
+import com.example.badminton_booking.event.CourtChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Same as {@link AccountEntityListener}, for courts: any JPA write to a court publishes a
+ * {@link CourtChangedEvent}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourtEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Court court) {
+        eventPublisher.publishEvent(new CourtChangedEvent(court.getId()));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.badminton_booking.event;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Published when a booking is created or changes status. {@code previousStatus} is null for a
+ * new booking. Listeners that maintain read models should react after commit.
+ */
+public record BookingChangedEvent(UUID bookingId, Integer courtId, LocalDate bookingDate,
+                                  LocalTime startTime, LocalTime endTime,
+                                  String previousStatus, String status) {
+}
@@ -0,0 +1,8 @@
+package com.example.badminton_booking.event;
+
+/**
+ * Published after a {@link com.example.badminton_booking.entity.Court} row is inserted, updated
+ * or deleted.
+ */
+public record CourtChangedEvent(Integer courtId) {
+}
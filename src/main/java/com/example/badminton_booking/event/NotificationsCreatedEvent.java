@@ -0,0 +1,12 @@
+package com.example.badminton_booking.event;
+
+import com.example.badminton_booking.entity.Notification;
+
+import java.util.List;
+
+/**
+ * Published when notifications are inserted. The entities are only read after commit, when
+ * their ids and timestamps have been assigned.
+ */
+public record NotificationsCreatedEvent(List<Notification> notifications) {
+}
@@ -0,0 +1,8 @@
+package com.example.badminton_booking.event;
+
+/**
+ * Published whenever a message is written to the outbox, so the dispatcher can deliver it as
+ * soon as the enqueuing transaction commits instead of waiting for the next poll.
+ */
+public record OutboxMessageQueuedEvent() {
+}
@@ -0,0 +1,7 @@
+package com.example.badminton_booking.event;
+
+/**
+ * Published after a {@link com.example.badminton_booking.entity.Role} row changes.
+ */
+public record RoleChangedEvent(Integer roleId) {
+}
@@ -0,0 +1,10 @@
+package com.example.badminton_booking.event;
+
+import java.util.UUID;
+
+/**
+ * Published after a {@link com.example.badminton_booking.entity.User} row is inserted, updated
+ * or deleted, so that in-memory views of users can drop stale entries.
+ */
+public record UserChangedEvent(UUID userId, String email, String roleName, String fullName, String phone) {
+}
@@ -0,0 +1,33 @@
+package com.example.badminton_booking.jdbc;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Marks the statements of a Hibernate flush so {@link QueryObserver} charges them to the unit of
+ * work rather than to whichever repository method happens to trigger an auto-flush. Hibernate
+ * creates one instance per session ({@code hibernate.session.events.auto}).
+ */
+public class FlushAttributionListener implements SessionEventListener {
+
+    private String previous;
+
+    @Override
+    public void flushStart() {
+        previous = QueryObserver.enterFlush();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        QueryObserver.exitFlush(previous);
+    }
+
+    @Override
+    public void partialFlushStart() {
+        previous = QueryObserver.enterFlush();
+    }
+
+    @Override
+    public void partialFlushEnd(int numberOfEntities, int numberOfCollections) {
+        QueryObserver.exitFlush(previous);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.badminton_booking.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+/**
+ * Wraps the pool so that every {@code execute*} call on the statements it hands out is timed
+ * and reported to {@link QueryObserver}. Everything else is passed straight through, and
+ * {@code unwrap} still reaches the pool (Hikari metrics, advisory locks).
+ */
+class ObservedDataSource extends DelegatingDataSource {
+
+    private final Supplier<QueryObserver> observer;
+
+    ObservedDataSource(DataSource target, Supplier<QueryObserver> observer) {
+        super(target);
+        this.observer = observer;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return observe(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return observe(super.getConnection(username, password));
+    }
+
+    private Connection observe(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ObservedDataSource.invoke(method, target, args);
+            // prepareStatement/prepareCall carry their SQL; plain statements get it on execute
+            if (result instanceof Statement statement && method.getName().matches("prepareStatement|prepareCall|createStatement")) {
+                String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[]{method.getReturnType()}, new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private String batchSql;
+        private int batchSize;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("addBatch")) {
+                batchSize++;
+                if (args != null && args.length == 1 && batchSql == null) {
+                    batchSql = (String) args[0];
+                }
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+                batchSql = null;
+            } else if (name.startsWith("execute")) {
+                return timed(method, args, name.equals("executeBatch") || name.equals("executeLargeBatch"));
+            }
+            return ObservedDataSource.invoke(method, target, args);
+        }
+
+        private Object timed(Method method, Object[] args, boolean batch) throws Throwable {
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s
+                    : batch && batchSql != null ? batchSql : preparedSql;
+            int statements = batch ? batchSize : 1;
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = ObservedDataSource.invoke(method, target, args);
+                failed = false;
+                return result;
+            } finally {
+                if (batch) {
+                    batchSize = 0;
+                    batchSql = null;
+                }
+                observer.get().record(sql, System.nanoTime() - start, statements, failed);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.badminton_booking.jdbc;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.hibernate.cfg.SessionEventSettings;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+
+/**
+ * Statement timings and the slow-query log. The {@link DataSource} bean is wrapped in
+ * {@link ObservedDataSource}, and every Spring Data repository records which of its methods is
+ * running so statements can be attributed to it. Services, {@code @Transactional} and
+ * {@code @Scheduled} methods are tracked too, so whatever a flush sends (at commit, or from
+ * {@code EntityManager} calls made outside any repository) is charged to the service method that
+ * started the work. Turned off with {@code db.observation.enabled=false}.
+ */
+@Configuration
+public class QueryObservationConfig {
+
+    @Bean
+    static BeanPostProcessor observedDataSourcePostProcessor(
+            @Value("${db.observation.enabled:true}") boolean enabled,
+            ObjectProvider<QueryObserver> observer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource && !(bean instanceof ObservedDataSource)) {
+                    return new ObservedDataSource(dataSource, observer::getObject);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    static BeanPostProcessor repositoryMethodTrackingPostProcessor(
+            @Value("${db.observation.enabled:true}") boolean enabled) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    // First in the chain, so the flush at commit is attributed to the method too
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repository) -> proxyFactory.addAdvice(0,
+                                    trackingAdvice(repository.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Outermost in the proxy chain, so it still covers the flush when the transaction commits
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    @ConditionalOnProperty(name = "db.observation.enabled", matchIfMissing = true)
+    static Advisor serviceMethodTrackingAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(Service.class, true))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(Transactional.class))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(Scheduled.class));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, (MethodInterceptor) invocation -> {
+            String method = AopUtils.getTargetClass(invocation.getThis()).getSimpleName() + "." + invocation.getMethod().getName();
+            boolean entered = QueryObserver.enterEntryPoint(method);
+            try {
+                return invocation.proceed();
+            } finally {
+                QueryObserver.exitEntryPoint(entered);
+            }
+        });
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "db.observation.enabled", matchIfMissing = true)
+    HibernatePropertiesCustomizer flushAttributionCustomizer() {
+        return properties -> properties.put(SessionEventSettings.AUTO_SESSION_EVENTS_LISTENER,
+                FlushAttributionListener.class.getName());
+    }
+
+    private static MethodInterceptor trackingAdvice(String repositoryName) {
+        return invocation -> {
+            String previous = QueryObserver.enterRepositoryMethod(repositoryName + "." + invocation.getMethod().getName());
+            try {
+                return invocation.proceed();
+            } finally {
+                QueryObserver.exitRepositoryMethod(previous);
+            }
+        };
+    }
+}
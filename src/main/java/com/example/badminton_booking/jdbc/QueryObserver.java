@@ -0,0 +1,173 @@
+package com.example.badminton_booking.jdbc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receives the timing of every JDBC statement run through {@link ObservedDataSource}.
+ * <p>
+ * Each statement is recorded in the {@code db.query} timer (percentile histogram), tagged with
+ * the repository method that issued it and the SQL operation. Statements sent by a Hibernate flush
+ * (at commit, before a query, or an explicit {@code flush()}) belong to the whole unit of work, so
+ * they are tagged with the outermost service method on the thread instead, falling back to the
+ * repository method when a repository owns the transaction. Statements slower than
+ * {@code db.observation.slow-query-threshold-ms} are also logged as one JSON line on the
+ * {@code slow-query} logger. Bind parameters are never logged.
+ */
+@Component
+@Slf4j(topic = "slow-query")
+public class QueryObserver {
+
+    static final String NO_REPOSITORY = "none";
+
+    // Set by the tracking advice from QueryObservationConfig while a repository method is running
+    private static final ThreadLocal<String> currentRepositoryMethod = new ThreadLocal<>();
+    // The outermost service method running on this thread
+    private static final ThreadLocal<String> currentEntryPoint = new ThreadLocal<>();
+    // Who the statements of the flush in progress are charged to, set by FlushAttributionListener
+    private static final ThreadLocal<String> currentFlush = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final JsonMapper jsonMapper;
+    private final long slowQueryThresholdNanos;
+    private final int maxSqlLength;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public QueryObserver(MeterRegistry meterRegistry,
+                         JsonMapper jsonMapper,
+                         @Value("${db.observation.slow-query-threshold-ms:200}") long slowQueryThresholdMillis,
+                         @Value("${db.observation.max-sql-length:2000}") int maxSqlLength) {
+        this.meterRegistry = meterRegistry;
+        this.jsonMapper = jsonMapper;
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMillis);
+        this.maxSqlLength = maxSqlLength;
+    }
+
+    static String enterRepositoryMethod(String method) {
+        String previous = currentRepositoryMethod.get();
+        currentRepositoryMethod.set(method);
+        return previous;
+    }
+
+    static void exitRepositoryMethod(String previous) {
+        if (previous == null) {
+            currentRepositoryMethod.remove();
+        } else {
+            currentRepositoryMethod.set(previous);
+        }
+    }
+
+    // Only the outermost call is kept; returns whether this call set it
+    static boolean enterEntryPoint(String method) {
+        if (currentEntryPoint.get() != null) {
+            return false;
+        }
+        currentEntryPoint.set(method);
+        return true;
+    }
+
+    static void exitEntryPoint(boolean entered) {
+        if (entered) {
+            currentEntryPoint.remove();
+        }
+    }
+
+    static String enterFlush() {
+        String previous = currentFlush.get();
+        String owner = currentEntryPoint.get();
+        if (owner == null) {
+            owner = currentRepositoryMethod.get();
+        }
+        currentFlush.set(owner == null ? NO_REPOSITORY : owner);
+        return previous;
+    }
+
+    static void exitFlush(String previous) {
+        if (previous == null) {
+            currentFlush.remove();
+        } else {
+            currentFlush.set(previous);
+        }
+    }
+
+    private static String attribution() {
+        String method = currentFlush.get();
+        if (method == null) {
+            method = currentRepositoryMethod.get();
+        }
+        if (method == null) {
+            method = currentEntryPoint.get();
+        }
+        return method == null ? NO_REPOSITORY : method;
+    }
+
+    void record(String sql, long nanos, int batchSize, boolean failed) {
+        String repositoryMethod = attribution();
+        String operation = operation(sql);
+        timer(repositoryMethod, operation).record(nanos, TimeUnit.NANOSECONDS);
+        if (nanos >= slowQueryThresholdNanos) {
+            logSlowQuery(sql, nanos, batchSize, failed, repositoryMethod, operation);
+        }
+    }
+
+    private Timer timer(String repositoryMethod, String operation) {
+        return timers.computeIfAbsent(repositoryMethod + ' ' + operation, k -> Timer.builder("db.query")
+                .description("JDBC statement execution time")
+                .tag("repository.method", repositoryMethod)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry));
+    }
+
+    private void logSlowQuery(String sql, long nanos, int batchSize, boolean failed,
+                              String repositoryMethod, String operation) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("event", "slow_query");
+        entry.put("durationMs", nanos / 1_000_000.0);
+        entry.put("thresholdMs", slowQueryThresholdNanos / 1_000_000.0);
+        entry.put("repositoryMethod", repositoryMethod);
+        entry.put("operation", operation);
+        entry.put("batchSize", batchSize);
+        entry.put("failed", failed);
+        entry.put("thread", Thread.currentThread().getName());
+        entry.put("sql", compact(sql));
+        log.warn(jsonMapper.writeValueAsString(entry));
+    }
+
+    private String compact(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        String compacted = sql.strip().replaceAll("\\s+", " ");
+        return compacted.length() > maxSqlLength ? compacted.substring(0, maxSqlLength) + "..." : compacted;
+    }
+
+    static String operation(String sql) {
+        if (sql == null) {
+            return "other";
+        }
+        String stripped = sql.stripLeading();
+        int end = 0;
+        while (end < stripped.length() && Character.isLetter(stripped.charAt(end))) {
+            end++;
+        }
+        String keyword = stripped.substring(0, end).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "with" -> "select";
+            case "insert", "update", "delete", "merge" -> keyword;
+            default -> "other";
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.badminton_booking.lock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.function.Supplier;
+
+/**
+ * Cluster-wide variant backed by PostgreSQL transaction-level advisory locks. The locks live as
+ * long as the surrounding transaction, so {@code action} joins the transaction opened here.
+ * <p>
+ * Waiting happens inside that transaction, holding a connection, so it is bounded by
+ * {@code booking.lock.timeout-ms} through PostgreSQL's {@code lock_timeout}.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.lock.mode", havingValue = "advisory")
+public class AdvisoryBookingLockManager implements BookingLockManager {
+
+    private static final Comparator<BookingLockKey> LOCK_ORDER = Comparator
+            .comparing(BookingLockKey::courtId)
+            .thenComparing(BookingLockKey::bookingDate);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long timeoutMillis;
+
+    public AdvisoryBookingLockManager(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                      @Value("${booking.lock.timeout-ms:5000}") long timeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public <T> T withLocks(Collection<BookingLockKey> keys, Supplier<T> action) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = " + timeoutMillis);
+            try {
+                keys.stream().distinct().sorted(LOCK_ORDER).forEach(key ->
+                        jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, ?)", (RowCallbackHandler) rs -> { },
+                                key.courtId(), (int) key.bookingDate().toEpochDay()));
+            } catch (PessimisticLockingFailureException e) {
+                throw new RuntimeException("Hệ thống đang bận. Vui lòng thử lại sau.", e);
+            }
+            // Row locks taken by the action keep the server's own timeout
+            jdbcTemplate.execute("SET LOCAL lock_timeout TO DEFAULT");
+            return action.get();
+        });
+    }
+
+    @Override
+    public boolean isClusterWide() {
+        return true;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.badminton_booking.lock;
+
+import java.time.LocalDate;
+
+public record BookingLockKey(Integer courtId, LocalDate bookingDate) {
+}
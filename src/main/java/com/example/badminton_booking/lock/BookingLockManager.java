@@ -0,0 +1,30 @@
+package com.example.badminton_booking.lock;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Serializes booking writes per (courtId, bookingDate) so that the availability check and the
+ * insert that follows it cannot interleave with another request for the same court and day.
+ * Requests for different courts or days never wait on each other.
+ */
+public interface BookingLockManager {
+
+    /**
+     * Runs {@code action} while holding the locks for all given keys. Keys are acquired in a
+     * fixed order, so callers locking several court-days at once cannot deadlock.
+     */
+    <T> T withLocks(Collection<BookingLockKey> keys, Supplier<T> action);
+
+    /**
+     * Whether the lock is shared by every application node. When it is not, an in-process
+     * view of bookings is authoritative; otherwise other nodes may have written in between.
+     */
+    boolean isClusterWide();
+
+    default <T> T withLock(Integer courtId, LocalDate bookingDate, Supplier<T> action) {
+        return withLocks(List.of(new BookingLockKey(courtId, bookingDate)), action);
+    }
+}
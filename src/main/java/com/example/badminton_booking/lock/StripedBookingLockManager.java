@@ -0,0 +1,82 @@
+package com.example.badminton_booking.lock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-process lock striping: every (courtId, bookingDate) hashes onto one of a fixed number of
+ * {@link ReentrantLock}s. Memory stays constant regardless of how many days are booked, and
+ * unrelated court-days only contend when they happen to share a stripe.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.lock.mode", havingValue = "local", matchIfMissing = true)
+public class StripedBookingLockManager implements BookingLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    public StripedBookingLockManager(@Value("${booking.lock.stripes:1024}") int stripeCount,
+                                     @Value("${booking.lock.timeout-ms:5000}") long timeoutMillis) {
+        // Round up to a power of two so the stripe can be picked with a mask
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public <T> T withLocks(Collection<BookingLockKey> keys, Supplier<T> action) {
+        // Distinct stripes in ascending order: a stable global order rules out deadlocks
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (BookingLockKey key : keys) {
+            indexes.add(stripeFor(key));
+        }
+
+        List<ReentrantLock> held = new ArrayList<>(indexes.size());
+        try {
+            for (Integer index : indexes) {
+                ReentrantLock lock = stripes[index];
+                acquire(lock);
+                held.add(lock);
+            }
+            return action.get();
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+    }
+
+    @Override
+    public boolean isClusterWide() {
+        return false;
+    }
+
+    int stripeFor(BookingLockKey key) {
+        int h = 31 * key.courtId().hashCode() + Long.hashCode(key.bookingDate().toEpochDay());
+        h ^= (h >>> 16);
+        return h & (stripes.length - 1);
+    }
+
+    private void acquire(ReentrantLock lock) {
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Hệ thống đang bận. Vui lòng thử lại sau.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Hệ thống đang bận. Vui lòng thử lại sau.", e);
+        }
+    }
+}
@@ -1,38 +1,65 @@
 package com.example.badminton_booking.repository;
 
+import com.example.badminton_booking.dto.BookingResponse;
+import com.example.badminton_booking.dto.BookingSlot;
 import com.example.badminton_booking.entity.Booking;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, UUID> {
 
-    @Query("SELECT b FROM Booking b WHERE b.court.id = :courtId " +
-           "AND b.bookingDate BETWEEN :startDate AND :endDate " +
-           "AND b.status = 'APPROVED'")
-    List<Booking> findApprovedBookingsByCourtAndDateRange(
-        @Param("courtId") Integer courtId,
+    // Listing queries return flat DTOs from a single joined select instead of lazy-loading per row
+    String RESPONSE_PROJECTION = "SELECT new com.example.badminton_booking.dto.BookingResponse(" +
+           "b.id, u.id, u.fullName, u.email, u.phone, c.id, c.name, b.bookingDate, b.startTime, " +
+           "b.endTime, b.status, b.note, b.createdAt, b.approvedAt, a.fullName) " +
+           "FROM Booking b JOIN b.user u JOIN b.court c LEFT JOIN b.approvedBy a ";
+
+    @Query(RESPONSE_PROJECTION +
+           "WHERE b.bookingDate BETWEEN :startDate AND :endDate AND b.status = 'APPROVED' " +
+           "ORDER BY b.bookingDate, b.startTime")
+    List<BookingResponse> findApprovedResponsesByDateRange(
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
     );
 
-    @Query("SELECT b FROM Booking b WHERE b.bookingDate BETWEEN :startDate AND :endDate " +
-           "AND b.status = 'APPROVED'")
-    List<Booking> findApprovedBookingsByDateRange(
-        @Param("startDate") LocalDate startDate,
-        @Param("endDate") LocalDate endDate
+    // Keyset pages on (created_at, id), served by idx_booking_user_recent and idx_booking_pending
+
+    @Query(RESPONSE_PROJECTION + "WHERE b.user.id = :userId ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingResponse> findResponsesByUserIdNewestFirst(@Param("userId") UUID userId, Limit limit);
+
+    @Query(RESPONSE_PROJECTION + "WHERE b.user.id = :userId " +
+           "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingResponse> findResponsesByUserIdBefore(
+        @Param("userId") UUID userId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") UUID id,
+        Limit limit
     );
 
-    List<Booking> findByStatus(String status);
+    @Query(RESPONSE_PROJECTION + "WHERE b.status = :status ORDER BY b.createdAt, b.id")
+    List<BookingResponse> findResponsesByStatusOldestFirst(@Param("status") String status, Limit limit);
 
-    List<Booking> findByUserId(UUID userId);
+    @Query(RESPONSE_PROJECTION + "WHERE b.status = :status " +
+           "AND (b.createdAt > :createdAt OR (b.createdAt = :createdAt AND b.id > :id)) " +
+           "ORDER BY b.createdAt, b.id")
+    List<BookingResponse> findResponsesByStatusAfter(
+        @Param("status") String status,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") UUID id,
+        Limit limit
+    );
 
     @Query("SELECT b FROM Booking b WHERE b.court.id = :courtId " +
            "AND b.bookingDate = :bookingDate " +
@@ -44,4 +71,48 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
         @Param("startTime") LocalTime startTime,
         @Param("endTime") LocalTime endTime
     );
+
+    @Query("SELECT new com.example.badminton_booking.dto.BookingSlot(" +
+           "b.id, b.court.id, b.bookingDate, b.startTime, b.endTime, b.status) " +
+           "FROM Booking b WHERE b.bookingDate >= :fromDate " +
+           "AND b.status IN ('PENDING', 'APPROVED')")
+    List<BookingSlot> findActiveSlotsFrom(@Param("fromDate") LocalDate fromDate);
+
+    @Query("SELECT new com.example.badminton_booking.dto.BookingSlot(" +
+           "b.id, b.court.id, b.bookingDate, b.startTime, b.endTime, b.status) " +
+           "FROM Booking b WHERE b.court.id = :courtId " +
+           "AND b.bookingDate = :bookingDate " +
+           "AND b.status IN ('PENDING', 'APPROVED')")
+    List<BookingSlot> findActiveSlotsByCourtAndDate(
+        @Param("courtId") Integer courtId,
+        @Param("bookingDate") LocalDate bookingDate
+    );
+
+    @Query("SELECT new com.example.badminton_booking.dto.BookingSlot(" +
+           "b.id, b.court.id, b.bookingDate, b.startTime, b.endTime, b.status) " +
+           "FROM Booking b WHERE b.bookingDate BETWEEN :startDate AND :endDate " +
+           "AND b.status IN ('PENDING', 'APPROVED')")
+    List<BookingSlot> findActiveSlotsBetween(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    // May return extra court/date combinations; callers filter to the pairs they need
+    @Query("SELECT new com.example.badminton_booking.dto.BookingSlot(" +
+           "b.id, b.court.id, b.bookingDate, b.startTime, b.endTime, b.status) " +
+           "FROM Booking b WHERE b.court.id IN :courtIds " +
+           "AND b.bookingDate IN :bookingDates " +
+           "AND b.status IN ('PENDING', 'APPROVED')")
+    List<BookingSlot> findActiveSlotsByCourtsAndDates(
+        @Param("courtIds") Collection<Integer> courtIds,
+        @Param("bookingDates") Collection<LocalDate> bookingDates
+    );
+
+    @Query("SELECT new com.example.badminton_booking.dto.BookingSlot(" +
+           "b.id, b.court.id, b.bookingDate, b.startTime, b.endTime, b.status) " +
+           "FROM Booking b WHERE b.id IN :ids")
+    List<BookingSlot> findSlotsByIds(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user JOIN FETCH b.court WHERE b.id IN :ids")
+    List<Booking> findAllWithUserAndCourtByIdIn(@Param("ids") Collection<UUID> ids);
 }
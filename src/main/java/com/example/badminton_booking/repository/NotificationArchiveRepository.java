@@ -0,0 +1,25 @@
+package com.example.badminton_booking.repository;
+
+import com.example.badminton_booking.entity.NotificationArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+@Repository
+public interface NotificationArchiveRepository extends JpaRepository<NotificationArchive, UUID> {
+
+    // Copied inside the database, so the rows never travel to the application
+    @Modifying
+    @Query("INSERT INTO NotificationArchive (id, receiverId, bookingId, title, content, type, createdAt, archivedAt) " +
+           "SELECT n.id, n.receiver.id, n.booking.id, n.title, n.content, n.type, n.createdAt, :archivedAt " +
+           "FROM Notification n WHERE n.id IN :ids")
+    int copyFromNotifications(@Param("ids") Collection<UUID> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    long countByReceiverId(UUID receiverId);
+}
@@ -1,9 +1,16 @@
 package com.example.badminton_booking.repository;
 
+import com.example.badminton_booking.dto.NotificationResponse;
 import com.example.badminton_booking.entity.Notification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,5 +18,50 @@ import java.util.UUID;
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
     List<Notification> findByReceiverIdOrderByCreatedAtDesc(UUID receiverId);
     List<Notification> findByReceiverIdAndIsReadFalseOrderByCreatedAtDesc(UUID receiverId);
-}
 
+    // Answered from idx_notifications_user alone (receiver_id, is_read, ...), without touching rows
+    long countByReceiverIdAndIsReadFalse(UUID receiverId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.receiver.id = :receiverId AND n.isRead = false")
+    int markAllAsReadByReceiverId(@Param("receiverId") UUID receiverId);
+
+    // Oldest first; served by the partial idx_notifications_read_age on PostgreSQL
+    @Query("SELECT n.id FROM Notification n WHERE n.isRead = true AND n.createdAt < :cutoff ORDER BY n.createdAt")
+    List<UUID> findReadIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<UUID> ids);
+
+    // Keyset pages on (created_at, id), newest first, served by idx_notifications_recent and idx_notifications_user
+    String RESPONSE_PROJECTION = "SELECT new com.example.badminton_booking.dto.NotificationResponse(" +
+           "n.id, n.booking.id, n.title, n.content, n.type, n.isRead, n.createdAt) FROM Notification n ";
+
+    @Query(RESPONSE_PROJECTION + "WHERE n.receiver.id = :receiverId ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationResponse> findResponsesByReceiverId(@Param("receiverId") UUID receiverId, Limit limit);
+
+    @Query(RESPONSE_PROJECTION + "WHERE n.receiver.id = :receiverId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationResponse> findResponsesByReceiverIdBefore(
+        @Param("receiverId") UUID receiverId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") UUID id,
+        Limit limit
+    );
+
+    @Query(RESPONSE_PROJECTION + "WHERE n.receiver.id = :receiverId AND n.isRead = false " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationResponse> findUnreadResponsesByReceiverId(@Param("receiverId") UUID receiverId, Limit limit);
+
+    @Query(RESPONSE_PROJECTION + "WHERE n.receiver.id = :receiverId AND n.isRead = false " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationResponse> findUnreadResponsesByReceiverIdBefore(
+        @Param("receiverId") UUID receiverId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") UUID id,
+        Limit limit
+    );
+}
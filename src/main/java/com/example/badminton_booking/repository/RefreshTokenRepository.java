@@ -0,0 +1,55 @@
+package com.example.badminton_booking.repository;
+
+import com.example.badminton_booking.entity.RefreshToken;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    // The whole refresh path: one lookup on idx_refresh_tokens_hash, user and role fetched with it
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user u JOIN FETCH u.role WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    boolean existsByIdAndRevokedAtIsNotNull(UUID id);
+
+    // Newest first, so sessions beyond the per-user cap are the oldest ones
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.user.id = :userId AND t.revokedAt IS NULL " +
+           "AND t.expiresAt > :now ORDER BY t.createdAt DESC")
+    List<UUID> findActiveIds(@Param("userId") UUID userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.id IN :ids AND t.revokedAt IS NULL")
+    int revokeByIds(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.user.id = :userId AND t.revokedAt IS NULL")
+    List<UUID> findUnrevokedIds(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.id = :id AND t.user.id = :userId AND t.revokedAt IS NULL")
+    int revoke(@Param("id") UUID id, @Param("userId") UUID userId, @Param("now") LocalDateTime now);
+
+    // Sessions whose access tokens may still be live; served by the partial idx_refresh_tokens_revoked on PostgreSQL
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.revokedAt > :since")
+    List<UUID> findIdsRevokedSince(@Param("since") LocalDateTime since);
+
+    // Expired rows, or revoked ones no live access token can still point at
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.expiresAt < :now OR t.revokedAt < :revokedBefore")
+    List<UUID> findPurgeableIds(@Param("now") LocalDateTime now,
+                                @Param("revokedBefore") LocalDateTime revokedBefore,
+                                Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<UUID> ids);
+}
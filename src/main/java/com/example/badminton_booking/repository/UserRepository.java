@@ -1,9 +1,13 @@
 package com.example.badminton_booking.repository;
 
+import com.example.badminton_booking.dto.UserContact;
 import com.example.badminton_booking.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,4 +17,8 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Boolean existsByEmail(String email);
     Boolean existsByPhone(String phone);
     Optional<User> findByPhone(String phone);
+
+    @Query("SELECT new com.example.badminton_booking.dto.UserContact(u.id, u.email) " +
+           "FROM User u WHERE u.role.name = :roleName")
+    List<UserContact> findContactsByRoleName(@Param("roleName") String roleName);
 }
@@ -0,0 +1,92 @@
+package com.example.badminton_booking.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * BCrypt at one configured cost. A hash made at a lower cost needs upgrading, so raising the cost
+ * moves every account to it on their next login. Cheaper rehashing of stronger hashes only
+ * happens when {@code allowDowngrade} is set, so nodes or restarts that disagree on the cost
+ * can't flip hashes back and forth.
+ */
+@Slf4j
+public class AdaptiveBCryptPasswordEncoder implements PasswordEncoder {
+
+    private final BCryptPasswordEncoder bcrypt;
+    private final int strength;
+    private final boolean allowDowngrade;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        this(strength, false);
+    }
+
+    public AdaptiveBCryptPasswordEncoder(int strength, boolean allowDowngrade) {
+        this.bcrypt = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.allowDowngrade = allowDowngrade;
+    }
+
+    /**
+     * Highest cost between {@code minStrength} and {@code maxStrength} whose hash is expected to
+     * take no longer than {@code target} on this machine. Each cost step doubles the work, so a
+     * few hashes at a cheap cost are enough to extrapolate.
+     */
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        int probeStrength = Math.min(8, minStrength);
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(probeStrength);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        int strength = probeStrength;
+        double estimate = best;
+        while (strength < maxStrength && estimate * 2 <= target.toNanos()) {
+            estimate *= 2;
+            strength++;
+        }
+        strength = Math.max(strength, minStrength);
+        log.info("BCrypt cost {} selected (target {} ms, ~{} ms per hash)", strength, target.toMillis(),
+                Math.round(best * Math.pow(2, strength - probeStrength) / 1_000_000));
+        return strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return bcrypt.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return bcrypt.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return true;
+        }
+        int stored = strengthOf(encodedPassword);
+        return stored < strength || (allowDowngrade && stored > strength);
+    }
+
+    // $2a$10$... -> 10; -1 when the hash is not BCrypt
+    static int strengthOf(String encodedPassword) {
+        if (encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
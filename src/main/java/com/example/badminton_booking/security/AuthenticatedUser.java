@@ -0,0 +1,26 @@
+package com.example.badminton_booking.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Security principal that also carries the user's id, so request handlers that only need the
+ * id don't have to look the user up again.
+ */
+public class AuthenticatedUser extends User {
+
+    private final UUID id;
+
+    public AuthenticatedUser(UUID id, String email, String password,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, authorities);
+        this.id = id;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.badminton_booking.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.util.UUID;
+
+/**
+ * Request details plus the login session the access token belongs to, so logout can revoke
+ * just this device. {@code loginSessionId} is null for tokens issued before sessions existed.
+ */
+public class JwtAuthenticationDetails extends WebAuthenticationDetails {
+
+    private final UUID loginSessionId;
+
+    public JwtAuthenticationDetails(HttpServletRequest request, UUID sessionId) {
+        super(request);
+        this.loginSessionId = sessionId;
+    }
+
+    public UUID getLoginSessionId() {
+        return loginSessionId;
+    }
+}
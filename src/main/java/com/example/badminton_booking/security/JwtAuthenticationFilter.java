@@ -9,19 +9,29 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // Browsers' EventSource can't set headers, so only these endpoints take the token from the URL
+    private static final List<String> EVENT_STREAM_PATHS = List.of(
+            "/api/notifications/stream",
+            "/api/bookings/court/*/weekly/stream"
+    );
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService userDetailsService;
+    private final UserPrincipalCache principalCache;
+    private final RevokedSessions revokedSessions;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -30,16 +40,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt,
-                    userDetailsService.loadUserByUsername(tokenProvider.extractUsername(jwt)))) {
-                String username = tokenProvider.extractUsername(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (StringUtils.hasText(jwt)) {
+                // Parsed once: signature and expiry are checked here
+                TokenClaims claims = tokenProvider.parseToken(jwt);
+                UserDetails userDetails = principalCache.get(claims.subject(), userDetailsService::loadUserByUsername);
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                if (tokenProvider.validateToken(claims, userDetails) && isLiveAccessToken(claims)) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new JwtAuthenticationDetails(request, claims.sessionId()));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -48,11 +60,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Refresh tokens only work on /api/auth/refresh-token; logged-out sessions not at all
+    private boolean isLiveAccessToken(TokenClaims claims) {
+        return !claims.refresh()
+                && (claims.sessionId() == null || !revokedSessions.isRevoked(claims.sessionId()));
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
             return bearerToken.substring(7);
         }
+        if ("GET".equals(request.getMethod()) && isEventStream(request)) {
+            return request.getParameter("access_token");
+        }
         return null;
     }
+
+    private boolean isEventStream(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return EVENT_STREAM_PATHS.stream().anyMatch(pattern -> PATH_MATCHER.match(pattern, path));
+    }
 }
@@ -1,6 +1,10 @@
 package com.example.badminton_booking.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,80 +14,125 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.function.Function;
-
+import java.util.UUID;
+
+/**
+ * Issues and verifies JWTs. The signing key and parser are built once; verified access tokens
+ * are remembered in a small LRU cache so that repeated requests with the same token skip the
+ * HMAC check until the token expires.
+ * <p>
+ * Tokens issued for a login session carry its id in the {@code sid} claim; refresh tokens also
+ * carry a random {@code jti} (stored hashed) and {@code type=refresh}, and are never accepted
+ * as access tokens.
+ */
 @Component
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
-    @Value("${jwt.access-token-expiration}")
-    private Long accessTokenExpiration;
-
-    @Value("${jwt.refresh-token-expiration}")
-    private Long refreshTokenExpiration;
-
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    private static final String SESSION_CLAIM = "sid";
+    private static final String TYPE_CLAIM = "type";
+    private static final String REFRESH_TYPE = "refresh";
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Long accessTokenExpiration;
+    private final Long refreshTokenExpiration;
+
+    // null when jwt.verified-cache.max-size is 0
+    private final Cache<String, TokenClaims> verifiedTokens;
+
+    public JwtTokenProvider(@Value("${jwt.secret}") String secret,
+                            @Value("${jwt.access-token-expiration}") Long accessTokenExpiration,
+                            @Value("${jwt.refresh-token-expiration}") Long refreshTokenExpiration,
+                            @Value("${jwt.verified-cache.max-size:1024}") long verifiedCacheSize) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.accessTokenExpiration = accessTokenExpiration;
+        this.refreshTokenExpiration = refreshTokenExpiration;
+        this.verifiedTokens = verifiedCacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(verifiedCacheSize).build()
+                : null;
     }
 
     public String generateAccessToken(UserDetails userDetails) {
-        return generateToken(userDetails, accessTokenExpiration);
+        return generateAccessToken(userDetails, null);
     }
 
-    public String generateRefreshToken(UserDetails userDetails) {
-        return generateToken(userDetails, refreshTokenExpiration);
+    public String generateAccessToken(UserDetails userDetails, UUID sessionId) {
+        return generateToken(userDetails, accessTokenExpiration, sessionId, null);
     }
 
-    private String generateToken(UserDetails userDetails, Long expiration) {
-        Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername(), expiration);
+    public String generateRefreshToken(UserDetails userDetails, UUID sessionId, String tokenId) {
+        return generateToken(userDetails, refreshTokenExpiration, sessionId, tokenId);
     }
 
-    private String createToken(Map<String, Object> claims, String subject, Long expiration) {
+    private String generateToken(UserDetails userDetails, Long expiration, UUID sessionId, String tokenId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
-        return Jwts.builder()
-                .claims(claims)
-                .subject(subject)
+        var builder = Jwts.builder()
+                .subject(userDetails.getUsername())
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
-    }
-
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+                .expiration(expiryDate);
+        if (sessionId != null) {
+            builder.claim(SESSION_CLAIM, sessionId.toString());
+        }
+        if (tokenId != null) {
+            builder.id(tokenId).claim(TYPE_CLAIM, REFRESH_TYPE);
+        }
+        return builder.signWith(signingKey).compact();
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    /**
+     * Verifies the signature and expiry and returns the claims; throws if the token is invalid.
+     */
+    public TokenClaims parseToken(String token) {
+        if (verifiedTokens != null) {
+            TokenClaims cached = verifiedTokens.getIfPresent(token);
+            if (cached != null) {
+                if (!cached.isExpired(System.currentTimeMillis())) {
+                    return cached;
+                }
+                // Let the parser raise the usual ExpiredJwtException
+                verifiedTokens.invalidate(token);
+            }
+        }
+
+        TokenClaims claims = verify(token);
+        if (verifiedTokens != null) {
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verifies a refresh token without caching it; throws if the token is invalid or is an
+     * access token.
+     */
+    public TokenClaims parseRefreshToken(String token) {
+        TokenClaims claims = verify(token);
+        if (!claims.refresh() || claims.sessionId() == null || claims.tokenId() == null) {
+            throw new JwtException("Not a refresh token");
+        }
+        return claims;
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean validateToken(TokenClaims claims, UserDetails userDetails) {
+        return claims.subject().equals(userDetails.getUsername())
+                && !claims.isExpired(System.currentTimeMillis());
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    private TokenClaims verify(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        Date issuedAt = claims.getIssuedAt();
+        String sessionId = claims.get(SESSION_CLAIM, String.class);
+        return new TokenClaims(
+                claims.getSubject(),
+                issuedAt != null ? issuedAt.getTime() : 0L,
+                claims.getExpiration().getTime(),
+                sessionId != null ? UUID.fromString(sessionId) : null,
+                claims.getId(),
+                REFRESH_TYPE.equals(claims.get(TYPE_CLAIM, String.class))
+        );
     }
 
     public Long getAccessTokenExpiration() {
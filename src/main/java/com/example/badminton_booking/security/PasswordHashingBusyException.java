@@ -0,0 +1,11 @@
+package com.example.badminton_booking.security;
+
+/**
+ * Thrown when the password hashing pool is saturated; answered with 429 so clients back off.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Hệ thống đang bận, vui lòng thử lại sau");
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.badminton_booking.security;
+
+import com.example.badminton_booking.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Answers "has this session been logged out?" for every authenticated request without a query
+ * in the common case. Ids of sessions revoked within the access-token lifetime are kept in a
+ * Bloom filter: a miss means the session is live, a hit is confirmed against
+ * {@code refresh_tokens} (false positives stay around 1% at {@code expected-revocations}).
+ * <p>
+ * Revocations made on this node are added immediately; the filter is rebuilt from the table
+ * every {@code revocation-refresh-ms}, which is also how revocations from other nodes arrive
+ * and how entries older than the access-token lifetime age out.
+ */
+@Component
+@Slf4j
+public class RevokedSessions {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long accessTokenExpirationMillis;
+    private final int expectedRevocations;
+
+    private volatile BloomFilter filter;
+    // Filled by a rebuild in progress, so revocations made meanwhile are not dropped with the old filter
+    private volatile BloomFilter building;
+    private volatile boolean loaded;
+
+    public RevokedSessions(RefreshTokenRepository refreshTokenRepository,
+                           @Value("${jwt.access-token-expiration}") long accessTokenExpirationMillis,
+                           @Value("${jwt.refresh-tokens.expected-revocations:100000}") int expectedRevocations) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.accessTokenExpirationMillis = accessTokenExpirationMillis;
+        this.expectedRevocations = expectedRevocations;
+        this.filter = new BloomFilter(expectedRevocations);
+    }
+
+    public boolean isRevoked(UUID sessionId) {
+        // Until the first load the filter knows nothing, so ask the table
+        if (loaded && !filter.mightContain(sessionId)) {
+            return false;
+        }
+        return refreshTokenRepository.existsByIdAndRevokedAtIsNotNull(sessionId);
+    }
+
+    public void add(Collection<UUID> sessionIds) {
+        BloomFilter current = filter;
+        BloomFilter next = building;
+        for (UUID sessionId : sessionIds) {
+            current.add(sessionId);
+            if (next != null) {
+                next.add(sessionId);
+            }
+        }
+    }
+
+    // Runs once at startup, then every revocation-refresh-ms
+    @Scheduled(fixedDelayString = "${jwt.refresh-tokens.revocation-refresh-ms:30000}")
+    public void rebuild() {
+        BloomFilter next = new BloomFilter(expectedRevocations);
+        building = next;
+        try {
+            List<UUID> ids = refreshTokenRepository.findIdsRevokedSince(
+                    LocalDateTime.now().minusNanos(accessTokenExpirationMillis * 1_000_000));
+            ids.forEach(next::add);
+            if (ids.size() > expectedRevocations) {
+                log.warn("{} sessions revoked within the access-token lifetime, more than the {} the filter is sized for",
+                        ids.size(), expectedRevocations);
+            }
+            filter = next;
+            loaded = true;
+        } catch (RuntimeException e) {
+            log.error("Could not reload revoked sessions, keeping the previous filter", e);
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * Fixed-size Bloom filter over session ids, sized for a 1% false-positive rate. Bits are set
+     * with CAS, so concurrent adds and lookups need no lock.
+     */
+    static final class BloomFilter {
+
+        private static final double FALSE_POSITIVE_RATE = 0.01;
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(int expectedInsertions) {
+            int n = Math.max(expectedInsertions, 1);
+            long m = (long) Math.ceil(-n * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) ((m + 63) / 64));
+            this.bitCount = bits.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        }
+
+        void add(UUID id) {
+            long h1 = mix(id.getMostSignificantBits());
+            long h2 = mix(id.getLeastSignificantBits()) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long value;
+                while (((value = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, value, value | mask)) {
+                    // Another bit in the same word changed, retry
+                }
+            }
+        }
+
+        boolean mightContain(UUID id) {
+            long h1 = mix(id.getMostSignificantBits());
+            long h2 = mix(id.getLeastSignificantBits()) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Random UUIDs carry fixed version/variant bits, so spread the halves before using them
+        private static long mix(long z) {
+            z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+            z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+            return z ^ (z >>> 33);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.badminton_booking.security;
+
+import java.util.UUID;
+
+/**
+ * The parts of a verified JWT the application actually reads, so callers don't hold on to the
+ * full jjwt {@code Claims} map. {@code sessionId} is the refresh-token row the token belongs to
+ * and {@code tokenId} the jti; both are null on tokens issued before sessions existed.
+ */
+public record TokenClaims(String subject, long issuedAtMillis, long expiresAtMillis,
+                          UUID sessionId, String tokenId, boolean refresh) {
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.badminton_booking.security;
+
+import com.example.badminton_booking.event.RoleChangedEvent;
+import com.example.badminton_booking.event.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of authenticated principals keyed by email, used by
+ * {@link JwtAuthenticationFilter} so that a valid token does not cost a users query per request.
+ * Entries expire after a TTL and are evicted as soon as the user row changes (password change,
+ * deactivation, logout, role change).
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final Cache<String, UserDetails> principals;
+
+    public UserPrincipalCache(@Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                              @Value("${security.principal-cache.max-size:10000}") long maxSize) {
+        this.principals = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        return principals.get(email, loader);
+    }
+
+    public void evict(String email) {
+        principals.invalidate(email);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.email());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoleChanged(RoleChangedEvent event) {
+        principals.invalidateAll();
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.badminton_booking.service;
 
 import com.example.badminton_booking.dto.*;
+import com.example.badminton_booking.entity.RefreshToken;
 import com.example.badminton_booking.entity.Role;
 import com.example.badminton_booking.entity.User;
 import com.example.badminton_booking.repository.RoleRepository;
 import com.example.badminton_booking.repository.UserRepository;
+import com.example.badminton_booking.security.AuthenticatedUser;
+import com.example.badminton_booking.security.JwtAuthenticationDetails;
 import com.example.badminton_booking.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,8 +18,10 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.UUID;
 
 @Service
@@ -28,9 +33,15 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
+        return register(request, null);
+    }
+
+    // Password hashing runs outside the transactions below, so no connection is held during BCrypt
+    public AuthResponse register(RegisterRequest request, String device) {
         // Validate email uniqueness
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email đã được sử dụng");
@@ -41,6 +52,11 @@ public class AuthService {
             throw new RuntimeException("Số điện thoại đã được sử dụng");
         }
 
+        String passwordHash = passwordEncoder.encode(request.getPassword());
+        return transactionTemplate.execute(status -> createAccount(request, passwordHash, device));
+    }
+
+    private AuthResponse createAccount(RegisterRequest request, String passwordHash, String device) {
         // Get USER role
         Role userRole = roleRepository.findByName("USER")
                 .orElseThrow(() -> new RuntimeException("Role không tồn tại"));
@@ -48,7 +64,7 @@ public class AuthService {
         // Create new user
         User user = new User();
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHash);
         user.setFullName(request.getFullName());
         user.setNickname(request.getNickname()); // Có thể null
         user.setPhone(request.getPhone());
@@ -62,36 +78,16 @@ public class AuthService {
                 .authorities("ROLE_USER")
                 .build();
 
-        String accessToken = jwtTokenProvider.generateAccessToken(userDetails);
-        String refreshToken = jwtTokenProvider.generateRefreshToken(userDetails);
-
-        // Save refresh token to database
-        user.setRefreshToken(refreshToken);
-        user.setRefreshTokenExpiry(LocalDateTime.now().plusSeconds(
-                jwtTokenProvider.getRefreshTokenExpiration() / 1000));
-
         user = userRepository.save(user);
 
-        // Calculate token expiry timestamps
-        long now = System.currentTimeMillis();
-        long accessTokenExpiry = now + jwtTokenProvider.getAccessTokenExpiration();
-        long refreshTokenExpiry = now + jwtTokenProvider.getRefreshTokenExpiration();
-
-        return new AuthResponse(
-                accessToken,
-                refreshToken,
-                accessTokenExpiry,
-                refreshTokenExpiry,
-                user.getId(),
-                user.getEmail(),
-                user.getFullName(),
-                user.getNickname(),
-                user.getRole().getName()
-        );
+        return startSession(user, userDetails, device);
     }
 
-    @Transactional
     public AuthResponse login(LoginRequest request) {
+        return login(request, null);
+    }
+
+    public AuthResponse login(LoginRequest request, String device) {
         // Authenticate user
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
@@ -99,6 +95,10 @@ public class AuthService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
+        return transactionTemplate.execute(status -> issueTokens(request, authentication, device));
+    }
+
+    private AuthResponse issueTokens(LoginRequest request, Authentication authentication, String device) {
         // Get user from database
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User không tồn tại"));
@@ -108,27 +108,20 @@ public class AuthService {
             throw new RuntimeException("Tài khoản đã bị vô hiệu hóa");
         }
 
-        // Generate new tokens
+        // A new session for this device; the users row is not written
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String accessToken = jwtTokenProvider.generateAccessToken(userDetails);
-        String refreshToken = jwtTokenProvider.generateRefreshToken(userDetails);
-
-        // Update refresh token in database
-        user.setRefreshToken(refreshToken);
-        user.setRefreshTokenExpiry(LocalDateTime.now().plusSeconds(
-                jwtTokenProvider.getRefreshTokenExpiration() / 1000));
-        userRepository.save(user);
+        return startSession(user, userDetails, device);
+    }
 
-        // Calculate token expiry timestamps
-        long now = System.currentTimeMillis();
-        long accessTokenExpiry = now + jwtTokenProvider.getAccessTokenExpiration();
-        long refreshTokenExpiry = now + jwtTokenProvider.getRefreshTokenExpiration();
+    private AuthResponse startSession(User user, UserDetails userDetails, String device) {
+        RefreshTokenService.Session session = refreshTokenService.open(user, userDetails, device);
+        String accessToken = jwtTokenProvider.generateAccessToken(userDetails, session.id());
 
         return new AuthResponse(
                 accessToken,
-                refreshToken,
-                accessTokenExpiry,
-                refreshTokenExpiry,
+                session.refreshToken(),
+                System.currentTimeMillis() + jwtTokenProvider.getAccessTokenExpiration(),
+                toEpochMilli(session.expiresAt()),
                 user.getId(),
                 user.getEmail(),
                 user.getFullName(),
@@ -137,49 +130,31 @@ public class AuthService {
         );
     }
 
-    @Transactional
+    // One lookup by token hash; nothing is written
     public AuthResponse refreshToken(RefreshTokenRequest request) {
         String refreshToken = request.getRefreshToken();
 
-        // Validate refresh token format
         try {
-            String email = jwtTokenProvider.extractUsername(refreshToken);
-
-            // Find user by email
-            User user = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("User không tồn tại"));
-
-            // Check if refresh token matches and not expired
-            if (!refreshToken.equals(user.getRefreshToken())) {
-                throw new RuntimeException("Refresh token không hợp lệ");
+            RefreshToken session = refreshTokenService.resolve(refreshToken);
+            User user = session.getUser();
+            if (!user.getIsActive()) {
+                throw new RuntimeException("Tài khoản đã bị vô hiệu hóa");
             }
 
-            if (user.getRefreshTokenExpiry().isBefore(LocalDateTime.now())) {
-                throw new RuntimeException("Refresh token đã hết hạn");
-            }
-
-            // Generate new access token
+            // Generate new access token for the same session
             UserDetails userDetails = org.springframework.security.core.userdetails.User
                     .withUsername(user.getEmail())
                     .password(user.getPassword())
                     .authorities("ROLE_" + user.getRole().getName())
                     .build();
 
-            String newAccessToken = jwtTokenProvider.generateAccessToken(userDetails);
-
-            // Calculate token expiry timestamps
-            long now = System.currentTimeMillis();
-            long accessTokenExpiry = now + jwtTokenProvider.getAccessTokenExpiration();
-            long refreshTokenExpiry = user.getRefreshTokenExpiry()
-                    .atZone(java.time.ZoneId.systemDefault())
-                    .toInstant()
-                    .toEpochMilli();
+            String newAccessToken = jwtTokenProvider.generateAccessToken(userDetails, session.getId());
 
             return new AuthResponse(
                     newAccessToken,
                     refreshToken, // Keep the same refresh token
-                    accessTokenExpiry,
-                    refreshTokenExpiry,
+                    System.currentTimeMillis() + jwtTokenProvider.getAccessTokenExpiration(),
+                    toEpochMilli(session.getExpiresAt()),
                     user.getId(),
                     user.getEmail(),
                     user.getFullName(),
@@ -192,15 +167,16 @@ public class AuthService {
         }
     }
 
-    @Transactional
-    public void logout(UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User không tồn tại"));
-
-        // Clear refresh token
-        user.setRefreshToken(null);
-        user.setRefreshTokenExpiry(null);
-        userRepository.save(user);
+    /**
+     * Ends the session the current access token belongs to, or every session of the user when
+     * the token predates sessions.
+     */
+    public void logout(UUID userId, UUID sessionId) {
+        if (sessionId != null) {
+            refreshTokenService.revoke(userId, sessionId);
+        } else {
+            refreshTokenService.revokeAll(userId);
+        }
     }
 
     @Transactional
@@ -218,7 +194,6 @@ public class AuthService {
         return userRepository.save(user);
     }
 
-    @Transactional
     public void changePassword(UUID userId, ChangePasswordRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User không tồn tại"));
@@ -227,13 +202,33 @@ public class AuthService {
             throw new RuntimeException("Mật khẩu cũ không đúng");
         }
 
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        String passwordHash = passwordEncoder.encode(request.getNewPassword());
 
-        // Clear all refresh tokens when password changes
-        user.setRefreshToken(null);
-        user.setRefreshTokenExpiry(null);
+        transactionTemplate.executeWithoutResult(status -> {
+            User current = userRepository.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("User không tồn tại"));
+            current.setPassword(passwordHash);
+            userRepository.save(current);
+
+            // Sign out every device when password changes
+            refreshTokenService.revokeAll(userId);
+        });
+    }
 
-        userRepository.save(user);
+    public UUID getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal.getId();
+        }
+        return getCurrentUser().getId();
+    }
+
+    public UUID getCurrentSessionId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getDetails() instanceof JwtAuthenticationDetails details) {
+            return details.getLoginSessionId();
+        }
+        return null;
     }
 
     public User getCurrentUser() {
@@ -242,4 +237,8 @@ public class AuthService {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User không tồn tại"));
     }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
 }
@@ -0,0 +1,162 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.dto.BookingResponse;
+import com.example.badminton_booking.repository.BookingRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams booking history for reporting. Rows are read as {@link BookingResponse} projections
+ * through a forward-only cursor of {@code booking.export.fetch-size} rows and written out one by
+ * one, so nothing is held in the persistence context and memory does not grow with the export.
+ */
+@Service
+public class BookingExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new RuntimeException("Định dạng xuất không hợp lệ: " + value);
+        }
+    }
+
+    private static final String CSV_HEADER = "id,userId,userFullName,userEmail,userPhone,courtId,courtName," +
+            "bookingDate,startTime,endTime,status,note,createdAt,approvedAt,approvedByName";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JsonMapper jsonMapper;
+    private final int fetchSize;
+
+    public BookingExportService(JsonMapper jsonMapper,
+                                @Value("${booking.export.fetch-size:1000}") int fetchSize) {
+        this.jsonMapper = jsonMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Writes bookings with a booking date in [from, to] (either bound may be null), oldest first.
+     * Returns the number of rows written.
+     */
+    @Transactional(readOnly = true)
+    public long export(LocalDate from, LocalDate to, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        try (Stream<BookingResponse> rows = query(from, to).getResultStream()) {
+            Iterator<BookingResponse> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                BookingResponse row = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsv(writer, row);
+                } else {
+                    writer.write(jsonMapper.writeValueAsString(row));
+                }
+                writer.write('\n');
+                // Keep bytes moving to the client at the pace rows arrive from the database
+                if (++count % fetchSize == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private TypedQuery<BookingResponse> query(LocalDate from, LocalDate to) {
+        StringBuilder jpql = new StringBuilder(BookingRepository.RESPONSE_PROJECTION).append("WHERE 1 = 1 ");
+        if (from != null) {
+            jpql.append("AND b.bookingDate >= :from ");
+        }
+        if (to != null) {
+            jpql.append("AND b.bookingDate <= :to ");
+        }
+        jpql.append("ORDER BY b.createdAt, b.id");
+
+        TypedQuery<BookingResponse> query = entityManager.createQuery(jpql.toString(), BookingResponse.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        return query;
+    }
+
+    private static void writeCsv(Writer writer, BookingResponse row) throws IOException {
+        Object[] values = {row.getId(), row.getUserId(), row.getUserFullName(), row.getUserEmail(), row.getUserPhone(),
+                row.getCourtId(), row.getCourtName(), row.getBookingDate(), row.getStartTime(), row.getEndTime(),
+                row.getStatus(), row.getNote(), row.getCreatedAt(), row.getApprovedAt(), row.getApprovedByName()};
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] instanceof String text) {
+                writer.write(csvField(neutralizeFormula(text)));
+            } else if (values[i] != null) {
+                writer.write(csvField(values[i].toString()));
+            }
+        }
+    }
+
+    // Names, notes and phones are typed by users; a spreadsheet would run "=HYPERLINK(...)" as a formula
+    private static String neutralizeFormula(String value) {
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            return "'" + value;
+        }
+        return value;
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
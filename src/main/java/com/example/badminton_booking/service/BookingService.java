@@ -1,23 +1,44 @@
 package com.example.badminton_booking.service;
 
+import com.example.badminton_booking.cache.AdminDirectory;
+import com.example.badminton_booking.cache.BookingAvailabilityIndex;
+import com.example.badminton_booking.cache.CourtCatalog;
+import com.example.badminton_booking.cache.WeeklyCalendarCache;
 import com.example.badminton_booking.dto.BookingRequest;
 import com.example.badminton_booking.dto.BookingResponse;
+import com.example.badminton_booking.dto.BookingSlot;
+import com.example.badminton_booking.dto.BulkBookingResult;
+import com.example.badminton_booking.dto.CursorPage;
+import com.example.badminton_booking.dto.PageCursor;
+import com.example.badminton_booking.dto.UserContact;
 import com.example.badminton_booking.entity.Booking;
 import com.example.badminton_booking.entity.Court;
 import com.example.badminton_booking.entity.Notification;
 import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.event.BookingChangedEvent;
+import com.example.badminton_booking.lock.BookingLockKey;
+import com.example.badminton_booking.lock.BookingLockManager;
 import com.example.badminton_booking.repository.BookingRepository;
-import com.example.badminton_booking.repository.CourtRepository;
-import com.example.badminton_booking.repository.NotificationRepository;
 import com.example.badminton_booking.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,17 +46,33 @@ import java.util.stream.Collectors;
 public class BookingService {
 
     private final BookingRepository bookingRepository;
-    private final CourtRepository courtRepository;
+    private final CourtCatalog courtCatalog;
     private final UserRepository userRepository;
-    private final NotificationRepository notificationRepository;
+    private final NotificationService notificationService;
     private final EmailService emailService;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final AdminDirectory adminDirectory;
+    private final BookingLockManager bookingLockManager;
+    private final TransactionTemplate transactionTemplate;
+    private final WeeklyCalendarCache weeklyCalendarCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${booking.bulk.max-size:500}")
+    private int bulkMaxSize;
 
-    @Transactional
     public BookingResponse createBooking(UUID userId, BookingRequest request) {
+        // The local lock is taken before the transaction so waiting requests don't hold a connection;
+        // advisory locks wait inside their transaction, for at most booking.lock.timeout-ms
+        return bookingLockManager.withLock(request.getCourtId(), request.getBookingDate(),
+                () -> transactionTemplate.execute(status -> doCreateBooking(userId, request)));
+    }
+
+    private BookingResponse doCreateBooking(UUID userId, BookingRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User không tồn tại"));
 
-        Court court = courtRepository.findById(request.getCourtId())
+        // Detached copy from the catalog; Hibernate only needs its id for court_id
+        Court court = courtCatalog.snapshot().find(request.getCourtId())
                 .orElseThrow(() -> new RuntimeException("Sân không tồn tại"));
 
         if (!court.getIsActive()) {
@@ -55,14 +92,7 @@ public class BookingService {
         }
 
         // Kiểm tra xung đột lịch đặt sân
-        List<Booking> conflictingBookings = bookingRepository.findConflictingBookings(
-            request.getCourtId(),
-            request.getBookingDate(),
-            request.getStartTime(),
-            request.getEndTime()
-        );
-
-        if (!conflictingBookings.isEmpty()) {
+        if (isSlotTaken(request)) {
             throw new RuntimeException("Khung giờ này đã có người đặt. Vui lòng chọn khung giờ khác.");
         }
 
@@ -76,115 +106,320 @@ public class BookingService {
         booking.setStatus("PENDING");
 
         booking = bookingRepository.save(booking);
-
-        // Gửi thông báo cho admin
-        List<User> admins = userRepository.findAll().stream()
-                .filter(u -> u.getRole().getName().equals("ADMIN"))
-                .collect(Collectors.toList());
-
-        for (User admin : admins) {
+        availabilityIndex.reserve(booking);
+        publishChange(booking, null);
+
+        // Gửi thông báo cho admin (one JDBC batch for all admins)
+        String content = String.format("%s vừa đặt %s vào ngày %s từ %s đến %s",
+                user.getFullName(), court.getName(), request.getBookingDate(),
+                request.getStartTime(), request.getEndTime());
+        List<Notification> notifications = new ArrayList<>();
+        for (UserContact admin : adminDirectory.getAdmins()) {
             Notification notification = new Notification();
-            notification.setReceiver(admin);
+            notification.setReceiver(userRepository.getReferenceById(admin.id()));
             notification.setBooking(booking);
             notification.setTitle("Yêu cầu đặt sân mới");
-            notification.setContent(String.format("%s vừa đặt %s vào ngày %s từ %s đến %s",
-                    user.getFullName(), court.getName(), request.getBookingDate(),
-                    request.getStartTime(), request.getEndTime()));
+            notification.setContent(content);
             notification.setType("BOOKING_REQUEST");
-            notificationRepository.save(notification);
+            notifications.add(notification);
 
             // Gửi email cho admin
-            emailService.sendBookingNotification(admin.getEmail(), booking);
+            emailService.queueBookingNotification(admin.email(), booking);
         }
+        notificationService.createAll(notifications);
 
         return convertToResponse(booking);
     }
 
+    private boolean isSlotTaken(BookingRequest request) {
+        // Other nodes may have booked since our index last saw this day, so ask the database
+        if (bookingLockManager.isClusterWide()) {
+            return !bookingRepository.findConflictingBookings(request.getCourtId(), request.getBookingDate(),
+                    request.getStartTime(), request.getEndTime()).isEmpty();
+        }
+        return availabilityIndex.isSlotTaken(request.getCourtId(), request.getBookingDate(),
+                request.getStartTime(), request.getEndTime());
+    }
+
     public List<BookingResponse> getWeeklyBookings(LocalDate startDate, LocalDate endDate) {
-        List<Booking> bookings = bookingRepository.findApprovedBookingsByDateRange(startDate, endDate);
-        return bookings.stream().map(this::convertToResponse).collect(Collectors.toList());
+        return weeklyCalendarCache.getApproved(null, startDate, endDate, this::loadApprovedWeek);
     }
 
     public List<BookingResponse> getBookingsByCourtAndWeek(Integer courtId, LocalDate startDate, LocalDate endDate) {
-        List<Booking> bookings = bookingRepository.findApprovedBookingsByCourtAndDateRange(courtId, startDate, endDate);
-        return bookings.stream().map(this::convertToResponse).collect(Collectors.toList());
+        return weeklyCalendarCache.getApproved(courtId, startDate, endDate, this::loadApprovedWeek);
+    }
+
+    // Calendar bookings plus their ETag; courtId null means all courts
+    public WeeklyCalendarCache.Snapshot getWeeklySnapshot(Integer courtId, LocalDate startDate, LocalDate endDate) {
+        return weeklyCalendarCache.getSnapshot(courtId, startDate, endDate, this::loadApprovedWeek);
     }
 
-    public List<BookingResponse> getUserBookings(UUID userId) {
-        List<Booking> bookings = bookingRepository.findByUserId(userId);
-        return bookings.stream().map(this::convertToResponse).collect(Collectors.toList());
+    /**
+     * ETag the calendar for this range currently has, or null if it has to be loaded first.
+     * Never queries the database.
+     */
+    public String getWeeklyVersion(LocalDate startDate, LocalDate endDate) {
+        return weeklyCalendarCache.currentVersion(startDate, endDate);
     }
 
-    public List<BookingResponse> getPendingBookings() {
-        List<Booking> bookings = bookingRepository.findByStatus("PENDING");
-        return bookings.stream().map(this::convertToResponse).collect(Collectors.toList());
+    private List<BookingResponse> loadApprovedWeek(LocalDate monday) {
+        return bookingRepository.findApprovedResponsesByDateRange(monday, monday.plusDays(6));
+    }
+
+    public CursorPage<BookingResponse> getUserBookingsPage(UUID userId, String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<BookingResponse> rows;
+        if (cursor == null) {
+            rows = bookingRepository.findResponsesByUserIdNewestFirst(userId, limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = bookingRepository.findResponsesByUserIdBefore(userId, after.createdAt(), after.id(), limit);
+        }
+        return CursorPage.of(rows, pageSize, BookingService::cursorOf);
+    }
+
+    // Oldest first, so admins work through the queue in arrival order
+    public CursorPage<BookingResponse> getPendingBookingsPage(String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<BookingResponse> rows;
+        if (cursor == null) {
+            rows = bookingRepository.findResponsesByStatusOldestFirst("PENDING", limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = bookingRepository.findResponsesByStatusAfter("PENDING", after.createdAt(), after.id(), limit);
+        }
+        return CursorPage.of(rows, pageSize, BookingService::cursorOf);
+    }
+
+    private static PageCursor cursorOf(BookingResponse booking) {
+        return new PageCursor(booking.getCreatedAt(), booking.getId());
     }
 
-    @Transactional
     public BookingResponse approveBooking(UUID bookingId, UUID adminId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        return withBookingLock(bookingId, () -> doApproveBooking(bookingId, adminId));
+    }
+
+    public BookingResponse rejectBooking(UUID bookingId, UUID adminId) {
+        return withBookingLock(bookingId, () -> doRejectBooking(bookingId, adminId));
+    }
+
+    // Status changes move the slot in and out of the index, so they take the same lock as createBooking
+    private BookingResponse withBookingLock(UUID bookingId, Supplier<BookingResponse> action) {
+        // Court and day never change, so the lock key can be read before locking
+        BookingSlot slot = bookingRepository.findSlotsByIds(List.of(bookingId)).stream().findFirst()
                 .orElseThrow(() -> new RuntimeException("Booking không tồn tại"));
+        return bookingLockManager.withLock(slot.courtId(), slot.bookingDate(),
+                () -> transactionTemplate.execute(status -> action.get()));
+    }
 
-        User admin = userRepository.findById(adminId)
-                .orElseThrow(() -> new RuntimeException("Admin không tồn tại"));
+    private BookingResponse doApproveBooking(UUID bookingId, UUID adminId) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new RuntimeException("Booking không tồn tại"));
 
-        if (!admin.getRole().getName().equals("ADMIN")) {
-            throw new RuntimeException("Bạn không có quyền thực hiện hành động này");
-        }
+        User admin = requireAdmin(adminId);
 
+        String previousStatus = booking.getStatus();
         booking.setStatus("APPROVED");
         booking.setApprovedAt(LocalDateTime.now());
         booking.setApprovedBy(admin);
 
         booking = bookingRepository.save(booking);
+        // Re-approving a rejected booking takes the slot again
+        availabilityIndex.reserve(booking);
+        publishChange(booking, previousStatus);
 
         // Gửi thông báo cho user
-        Notification notification = new Notification();
-        notification.setReceiver(booking.getUser());
-        notification.setBooking(booking);
-        notification.setTitle("Đặt sân thành công");
-        notification.setContent(String.format("Yêu cầu đặt %s vào ngày %s từ %s đến %s đã được xác nhận",
-                booking.getCourt().getName(), booking.getBookingDate(),
-                booking.getStartTime(), booking.getEndTime()));
-        notification.setType("BOOKING_APPROVED");
-        notificationRepository.save(notification);
+        notificationService.create(decisionNotification(booking));
 
         // Gửi email xác nhận cho user
-        emailService.sendBookingConfirmation(booking.getUser().getEmail(), booking);
+        emailService.queueBookingConfirmation(booking.getUser().getEmail(), booking);
 
         return convertToResponse(booking);
     }
 
-    @Transactional
-    public BookingResponse rejectBooking(UUID bookingId, UUID adminId) {
+    private BookingResponse doRejectBooking(UUID bookingId, UUID adminId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking không tồn tại"));
 
+        requireAdmin(adminId);
+
+        String previousStatus = booking.getStatus();
+        booking.setStatus("REJECTED");
+        booking = bookingRepository.save(booking);
+        availabilityIndex.release(booking);
+        publishChange(booking, previousStatus);
+
+        // Gửi thông báo cho user
+        notificationService.create(decisionNotification(booking));
+
+        return convertToResponse(booking);
+    }
+
+    /**
+     * Approves many bookings in one transaction. Selected bookings are checked in memory against
+     * each other and against the other active bookings on their court and day; one that would
+     * overlap is left unchanged and reported as failed. Status updates, notifications and outbox
+     * emails are written as JDBC batches.
+     */
+    public BulkBookingResult bulkApprove(List<UUID> bookingIds, UUID adminId) {
+        return bulkDecide(bookingIds, adminId, "APPROVED");
+    }
+
+    public BulkBookingResult bulkReject(List<UUID> bookingIds, UUID adminId) {
+        return bulkDecide(bookingIds, adminId, "REJECTED");
+    }
+
+    private BulkBookingResult bulkDecide(List<UUID> bookingIds, UUID adminId, String targetStatus) {
+        List<UUID> ids = bookingIds == null ? List.of()
+                : bookingIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            throw new RuntimeException("Danh sách booking không được để trống");
+        }
+        if (ids.size() > bulkMaxSize) {
+            throw new RuntimeException("Chỉ được xử lý tối đa " + bulkMaxSize + " booking mỗi lần");
+        }
+
+        // Court and day never change, so the lock keys can be read before locking
+        Set<BookingLockKey> keys = bookingRepository.findSlotsByIds(ids).stream()
+                .map(slot -> new BookingLockKey(slot.courtId(), slot.bookingDate()))
+                .collect(Collectors.toSet());
+        return bookingLockManager.withLocks(keys,
+                () -> transactionTemplate.execute(status -> doBulkDecide(ids, adminId, targetStatus)));
+    }
+
+    private BulkBookingResult doBulkDecide(List<UUID> ids, UUID adminId, String targetStatus) {
+        User admin = requireAdmin(adminId);
+        boolean approve = "APPROVED".equals(targetStatus);
+
+        Map<UUID, Booking> bookings = new HashMap<>();
+        for (Booking booking : bookingRepository.findAllWithUserAndCourtByIdIn(ids)) {
+            bookings.put(booking.getId(), booking);
+        }
+
+        Map<UUID, BulkBookingResult.Item> outcomes = new HashMap<>();
+        List<Booking> candidates = new ArrayList<>();
+        for (UUID id : ids) {
+            Booking booking = bookings.get(id);
+            if (booking == null) {
+                outcomes.put(id, new BulkBookingResult.Item(id, false, null, "Booking không tồn tại"));
+            } else if (targetStatus.equals(booking.getStatus())) {
+                outcomes.put(id, new BulkBookingResult.Item(id, true, targetStatus,
+                        "Booking đã ở trạng thái " + targetStatus));
+            } else {
+                candidates.add(booking);
+            }
+        }
+
+        List<Booking> decided = approve ? withoutConflicts(candidates, ids, outcomes) : candidates;
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> notifications = new ArrayList<>(decided.size());
+        for (Booking booking : decided) {
+            String previousStatus = booking.getStatus();
+            booking.setStatus(targetStatus);
+            if (approve) {
+                booking.setApprovedAt(now);
+                booking.setApprovedBy(admin);
+                availabilityIndex.reserve(booking);
+                emailService.queueBookingConfirmation(booking.getUser().getEmail(), booking);
+            } else {
+                availabilityIndex.release(booking);
+            }
+            publishChange(booking, previousStatus);
+            notifications.add(decisionNotification(booking));
+            outcomes.put(booking.getId(), new BulkBookingResult.Item(booking.getId(), true, targetStatus, null));
+        }
+        // Flushes the dirty bookings too; order_updates lets Hibernate batch their UPDATEs
+        notificationService.createAll(notifications);
+
+        return BulkBookingResult.of(ids.stream().map(outcomes::get).toList());
+    }
+
+    /**
+     * Returns the candidates that can be approved, recording a failure for the rest. Pending
+     * bookings go first and keep their slot either way; rejected ones being re-approved only get
+     * whatever is still free, oldest first.
+     */
+    private List<Booking> withoutConflicts(List<Booking> candidates, List<UUID> selectedIds,
+                                           Map<UUID, BulkBookingResult.Item> outcomes) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        Set<UUID> selected = new HashSet<>(selectedIds);
+        Set<Integer> courtIds = new HashSet<>();
+        Set<LocalDate> dates = new HashSet<>();
+        for (Booking booking : candidates) {
+            courtIds.add(booking.getCourt().getId());
+            dates.add(booking.getBookingDate());
+        }
+
+        Map<BookingLockKey, List<BookingSlot>> occupied = new HashMap<>();
+        for (BookingSlot slot : bookingRepository.findActiveSlotsByCourtsAndDates(courtIds, dates)) {
+            if (!selected.contains(slot.id())) {
+                occupied.computeIfAbsent(new BookingLockKey(slot.courtId(), slot.bookingDate()),
+                        k -> new ArrayList<>()).add(slot);
+            }
+        }
+
+        List<Booking> ordered = new ArrayList<>(candidates);
+        ordered.sort(Comparator.comparing((Booking b) -> !"PENDING".equals(b.getStatus()))
+                .thenComparing(Booking::getCreatedAt)
+                .thenComparing(Booking::getId));
+
+        List<Booking> accepted = new ArrayList<>();
+        for (Booking booking : ordered) {
+            List<BookingSlot> taken = occupied.computeIfAbsent(
+                    new BookingLockKey(booking.getCourt().getId(), booking.getBookingDate()), k -> new ArrayList<>());
+            boolean overlaps = taken.stream().anyMatch(slot -> slot.startTime().isBefore(booking.getEndTime())
+                    && slot.endTime().isAfter(booking.getStartTime()));
+            if (overlaps) {
+                outcomes.put(booking.getId(), new BulkBookingResult.Item(booking.getId(), false,
+                        booking.getStatus(), "Khung giờ này trùng với booking khác"));
+                if (!"PENDING".equals(booking.getStatus())) {
+                    continue;
+                }
+            } else {
+                accepted.add(booking);
+            }
+            taken.add(new BookingSlot(booking.getId(), booking.getCourt().getId(), booking.getBookingDate(),
+                    booking.getStartTime(), booking.getEndTime(), booking.getStatus()));
+        }
+        return accepted;
+    }
+
+    private User requireAdmin(UUID adminId) {
         User admin = userRepository.findById(adminId)
                 .orElseThrow(() -> new RuntimeException("Admin không tồn tại"));
 
         if (!admin.getRole().getName().equals("ADMIN")) {
             throw new RuntimeException("Bạn không có quyền thực hiện hành động này");
         }
+        return admin;
+    }
 
-        booking.setStatus("REJECTED");
-        booking = bookingRepository.save(booking);
-
-        // Gửi thông báo cho user
+    private static Notification decisionNotification(Booking booking) {
+        boolean approved = "APPROVED".equals(booking.getStatus());
         Notification notification = new Notification();
         notification.setReceiver(booking.getUser());
         notification.setBooking(booking);
-        notification.setTitle("Đặt sân bị từ chối");
-        notification.setContent(String.format("Yêu cầu đặt %s vào ngày %s từ %s đến %s đã bị từ chối",
+        notification.setTitle(approved ? "Đặt sân thành công" : "Đặt sân bị từ chối");
+        notification.setContent(String.format("Yêu cầu đặt %s vào ngày %s từ %s đến %s %s",
                 booking.getCourt().getName(), booking.getBookingDate(),
-                booking.getStartTime(), booking.getEndTime()));
-        notification.setType("BOOKING_REJECTED");
-        notificationRepository.save(notification);
+                booking.getStartTime(), booking.getEndTime(),
+                approved ? "đã được xác nhận" : "đã bị từ chối"));
+        notification.setType(approved ? "BOOKING_APPROVED" : "BOOKING_REJECTED");
+        return notification;
+    }
 
-        return convertToResponse(booking);
+    private void publishChange(Booking booking, String previousStatus) {
+        eventPublisher.publishEvent(new BookingChangedEvent(booking.getId(), booking.getCourt().getId(),
+                booking.getBookingDate(), booking.getStartTime(), booking.getEndTime(),
+                previousStatus, booking.getStatus()));
     }
 
-    private BookingResponse convertToResponse(Booking booking) {
+    static BookingResponse convertToResponse(Booking booking) {
         BookingResponse response = new BookingResponse();
         response.setId(booking.getId());
         response.setUserId(booking.getUser().getId());
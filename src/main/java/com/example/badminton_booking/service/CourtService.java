@@ -1,29 +1,37 @@
 package com.example.badminton_booking.service;
 
+import com.example.badminton_booking.cache.CourtCatalog;
 import com.example.badminton_booking.entity.Court;
-import com.example.badminton_booking.repository.CourtRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
+// Served from the in-memory catalog; no court read reaches the database
 @Service
 @RequiredArgsConstructor
 public class CourtService {
 
-    private final CourtRepository courtRepository;
+    private final CourtCatalog courtCatalog;
 
     public List<Court> getAllCourts() {
-        return courtRepository.findAll();
+        return courtCatalog.snapshot().all();
     }
 
     public List<Court> getActiveCourts() {
-        return courtRepository.findByIsActiveTrue();
+        return courtCatalog.snapshot().active();
     }
 
     public Court getCourtById(Integer id) {
-        return courtRepository.findById(id)
+        return courtCatalog.snapshot().find(id)
                 .orElseThrow(() -> new RuntimeException("Sân không tồn tại"));
     }
-}
 
+    /**
+     * ETag value for anything read from the courts table; changes whenever a court is saved.
+     * Read it before the data, so a response is never tagged newer than its content.
+     */
+    public String getCatalogVersion() {
+        return "courts-" + Long.toString(courtCatalog.snapshot().version(), 36);
+    }
+}
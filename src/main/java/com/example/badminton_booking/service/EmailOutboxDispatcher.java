@@ -0,0 +1,198 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.entity.OutboxMessage;
+import com.example.badminton_booking.event.OutboxMessageQueuedEvent;
+import com.example.badminton_booking.repository.OutboxMessageRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers queued {@link OutboxMessage}s on virtual threads, outside of any request.
+ * <p>
+ * Each drainer claims a batch in a short transaction, leasing it by pushing
+ * {@code nextAttemptAt} forward, then sends the whole batch over a single SMTP connection and
+ * records the outcome in a second short transaction. Failed messages are retried with
+ * exponential backoff until {@code mail.outbox.max-attempts} is reached.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final int concurrency;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("mail-outbox-", 0).factory());
+    private final AtomicInteger activeDrainers = new AtomicInteger();
+    private final AtomicBoolean wakeUpRequested = new AtomicBoolean();
+
+    public EmailOutboxDispatcher(OutboxMessageRepository outboxMessageRepository,
+                                 JavaMailSender mailSender,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${mail.outbox.batch-size:50}") int batchSize,
+                                 @Value("${mail.outbox.concurrency:2}") int concurrency,
+                                 @Value("${mail.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${mail.outbox.initial-backoff-ms:30000}") long initialBackoffMillis,
+                                 @Value("${mail.outbox.max-backoff-ms:3600000}") long maxBackoffMillis,
+                                 @Value("${mail.outbox.lease-ms:300000}") long leaseMillis) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMillis);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMillis);
+        this.lease = Duration.ofMillis(leaseMillis);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageQueued(OutboxMessageQueuedEvent event) {
+        wakeUp();
+    }
+
+    // Picks up retries whose backoff has elapsed and anything left behind by a crashed node
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:15000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    public void wakeUp() {
+        wakeUpRequested.set(true);
+        int active;
+        while ((active = activeDrainers.get()) < concurrency) {
+            if (activeDrainers.compareAndSet(active, active + 1)) {
+                executor.execute(this::drain);
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void drain() {
+        try {
+            wakeUpRequested.set(false);
+            List<OutboxMessage> batch;
+            while (!(batch = claimBatch()).isEmpty()) {
+                deliver(batch);
+            }
+        } catch (RuntimeException e) {
+            log.error("Mail outbox dispatch failed", e);
+        } finally {
+            activeDrainers.decrementAndGet();
+        }
+        // A message queued while we were finishing must not wait for the next poll
+        if (wakeUpRequested.get() && !executor.isShutdown()) {
+            wakeUp();
+        }
+    }
+
+    private List<OutboxMessage> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMessage> due = outboxMessageRepository.findDueForUpdate(now, PageRequest.of(0, batchSize));
+            for (OutboxMessage message : due) {
+                message.setAttempts(message.getAttempts() + 1);
+                message.setNextAttemptAt(now.plus(lease));
+            }
+            return due;
+        });
+    }
+
+    private void deliver(List<OutboxMessage> batch) {
+        Map<SimpleMailMessage, OutboxMessage> byMail = new IdentityHashMap<>();
+        for (OutboxMessage message : batch) {
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setTo(message.getRecipient());
+            mail.setSubject(message.getSubject());
+            mail.setText(message.getBody());
+            byMail.put(mail, message);
+        }
+
+        Map<OutboxMessage, Exception> failures = new IdentityHashMap<>();
+        try {
+            mailSender.send(byMail.keySet().toArray(SimpleMailMessage[]::new));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failed = e.getFailedMessages();
+            if (failed.isEmpty() || !byMail.keySet().containsAll(failed.keySet())) {
+                batch.forEach(message -> failures.put(message, e));
+            } else {
+                failed.forEach((mail, ex) -> failures.put(byMail.get(mail), ex));
+            }
+        } catch (MailException e) {
+            batch.forEach(message -> failures.put(message, e));
+        }
+
+        record(batch, failures);
+    }
+
+    private void record(List<OutboxMessage> batch, Map<OutboxMessage, Exception> failures) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<UUID> sent = batch.stream()
+                    .filter(message -> !failures.containsKey(message))
+                    .map(OutboxMessage::getId)
+                    .toList();
+            if (!sent.isEmpty()) {
+                outboxMessageRepository.markSent(sent, now);
+                log.info("Delivered {} queued emails", sent.size());
+            }
+
+            failures.forEach((message, e) -> {
+                message.setLastError(truncate(String.valueOf(e.getMessage())));
+                if (message.getAttempts() >= maxAttempts) {
+                    message.setStatus("FAILED");
+                    log.error("Giving up on email to: {} after {} attempts", message.getRecipient(), message.getAttempts(), e);
+                } else {
+                    message.setNextAttemptAt(now.plus(backoff(message.getAttempts())));
+                    log.warn("Failed to send email to: {} (attempt {}), will retry", message.getRecipient(), message.getAttempts());
+                }
+                outboxMessageRepository.save(message);
+            });
+        });
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String error) {
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
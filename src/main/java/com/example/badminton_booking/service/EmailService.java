@@ -1,72 +1,68 @@
 package com.example.badminton_booking.service;
 
 import com.example.badminton_booking.entity.Booking;
+import com.example.badminton_booking.entity.OutboxMessage;
+import com.example.badminton_booking.event.OutboxMessageQueuedEvent;
+import com.example.badminton_booking.repository.OutboxMessageRepository;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
+/**
+ * Renders booking emails and writes them to the outbox in the caller's transaction.
+ * Delivery happens after commit in {@link EmailOutboxDispatcher}.
+ */
 @Service
 @RequiredArgsConstructor
-@Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
-
-    public void sendBookingNotification(String to, Booking booking) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(to);
-            message.setSubject("Yêu cầu đặt sân mới - Badminton Booking");
-            message.setText(String.format(
-                    "Có yêu cầu đặt sân mới:\n\n" +
-                    "Khách hàng: %s (%s)\n" +
-                    "Sân: %s\n" +
-                    "Ngày: %s\n" +
-                    "Thời gian: %s - %s\n" +
-                    "Ghi chú: %s\n\n" +
-                    "Vui lòng đăng nhập hệ thống để xác nhận.",
-                    booking.getUser().getFullName(),
-                    booking.getUser().getEmail(),
-                    booking.getCourt().getName(),
-                    booking.getBookingDate(),
-                    booking.getStartTime(),
-                    booking.getEndTime(),
-                    booking.getNote() != null ? booking.getNote() : "Không có"
-            ));
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-            mailSender.send(message);
-            log.info("Email notification sent to: {}", to);
-        } catch (Exception e) {
-            log.error("Failed to send email to: {}", to, e);
-        }
+    public void queueBookingNotification(String to, Booking booking) {
+        queue(to, "Yêu cầu đặt sân mới - Badminton Booking", String.format(
+                "Có yêu cầu đặt sân mới:\n\n" +
+                "Khách hàng: %s (%s)\n" +
+                "Sân: %s\n" +
+                "Ngày: %s\n" +
+                "Thời gian: %s - %s\n" +
+                "Ghi chú: %s\n\n" +
+                "Vui lòng đăng nhập hệ thống để xác nhận.",
+                booking.getUser().getFullName(),
+                booking.getUser().getEmail(),
+                booking.getCourt().getName(),
+                booking.getBookingDate(),
+                booking.getStartTime(),
+                booking.getEndTime(),
+                booking.getNote() != null ? booking.getNote() : "Không có"
+        ));
     }
 
-    public void sendBookingConfirmation(String to, Booking booking) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(to);
-            message.setSubject("Xác nhận đặt sân - Badminton Booking");
-            message.setText(String.format(
-                    "Chào %s,\n\n" +
-                    "Yêu cầu đặt sân của bạn đã được xác nhận:\n\n" +
-                    "Sân: %s\n" +
-                    "Ngày: %s\n" +
-                    "Thời gian: %s - %s\n\n" +
-                    "Cảm ơn bạn đã sử dụng dịch vụ!",
-                    booking.getUser().getFullName(),
-                    booking.getCourt().getName(),
-                    booking.getBookingDate(),
-                    booking.getStartTime(),
-                    booking.getEndTime()
-            ));
+    public void queueBookingConfirmation(String to, Booking booking) {
+        queue(to, "Xác nhận đặt sân - Badminton Booking", String.format(
+                "Chào %s,\n\n" +
+                "Yêu cầu đặt sân của bạn đã được xác nhận:\n\n" +
+                "Sân: %s\n" +
+                "Ngày: %s\n" +
+                "Thời gian: %s - %s\n\n" +
+                "Cảm ơn bạn đã sử dụng dịch vụ!",
+                booking.getUser().getFullName(),
+                booking.getCourt().getName(),
+                booking.getBookingDate(),
+                booking.getStartTime(),
+                booking.getEndTime()
+        ));
+    }
 
-            mailSender.send(message);
-            log.info("Confirmation email sent to: {}", to);
-        } catch (Exception e) {
-            log.error("Failed to send confirmation email to: {}", to, e);
-        }
+    private void queue(String to, String subject, String body) {
+        OutboxMessage message = new OutboxMessage();
+        message.setRecipient(to);
+        message.setSubject(subject);
+        message.setBody(body);
+        message.setNextAttemptAt(LocalDateTime.now());
+        outboxMessageRepository.save(message);
+        eventPublisher.publishEvent(new OutboxMessageQueuedEvent());
     }
 }
-
@@ -0,0 +1,117 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.repository.NotificationArchiveRepository;
+import com.example.badminton_booking.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the {@code notifications} table (and its indexes) from growing forever. Read
+ * notifications older than {@code notifications.retention.read-age-days} are moved to
+ * {@code notifications_archive}, or dropped when {@code mode} is {@code delete}.
+ * <p>
+ * Work is done in batches of {@code batch-size} rows, each in its own short transaction and
+ * with a pause in between, so the job never holds many row locks for long. It only touches old
+ * read rows, which the booking flow no longer writes to, and stops after
+ * {@code max-batches-per-run} batches; whatever is left is picked up by the next run.
+ */
+@Component
+@Slf4j
+public class NotificationRetentionJob {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationArchiveRepository notificationArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final boolean archive;
+    private final Duration readAge;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration pause;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public NotificationRetentionJob(NotificationRepository notificationRepository,
+                                    NotificationArchiveRepository notificationArchiveRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${notifications.retention.enabled:true}") boolean enabled,
+                                    @Value("${notifications.retention.mode:archive}") String mode,
+                                    @Value("${notifications.retention.read-age-days:90}") long readAgeDays,
+                                    @Value("${notifications.retention.batch-size:500}") int batchSize,
+                                    @Value("${notifications.retention.max-batches-per-run:1000}") int maxBatchesPerRun,
+                                    @Value("${notifications.retention.pause-ms:100}") long pauseMillis) {
+        if (!mode.equalsIgnoreCase("archive") && !mode.equalsIgnoreCase("delete")) {
+            throw new IllegalArgumentException("notifications.retention.mode must be archive or delete, got " + mode);
+        }
+        this.notificationRepository = notificationRepository;
+        this.notificationArchiveRepository = notificationArchiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.archive = mode.equalsIgnoreCase("archive");
+        this.readAge = Duration.ofDays(readAgeDays);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pause = Duration.ofMillis(pauseMillis);
+    }
+
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * *}")
+    public void run() {
+        if (enabled) {
+            purgeReadBefore(LocalDateTime.now().minus(readAge));
+        }
+    }
+
+    /**
+     * Archives or deletes read notifications created before {@code cutoff} and returns how many
+     * were removed from {@code notifications}. Returns 0 if a run is already in progress.
+     */
+    public long purgeReadBefore(LocalDateTime cutoff) {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        long total = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Integer removed = transactionTemplate.execute(status -> purgeBatch(cutoff));
+                total += removed;
+                if (removed < batchSize) {
+                    break;
+                }
+                // Give the insert path room between batches
+                Thread.sleep(pause);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Notification retention stopped after {} rows", total, e);
+        } finally {
+            running.set(false);
+        }
+        if (total > 0) {
+            log.info("{} {} read notifications created before {}", archive ? "Archived" : "Deleted", total, cutoff);
+        }
+        return total;
+    }
+
+    private int purgeBatch(LocalDateTime cutoff) {
+        List<UUID> ids = notificationRepository.findReadIdsCreatedBefore(cutoff, Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        if (archive) {
+            notificationArchiveRepository.copyFromNotifications(ids, LocalDateTime.now());
+        }
+        return notificationRepository.deleteByIds(ids);
+    }
+}
@@ -1,8 +1,17 @@
 package com.example.badminton_booking.service;
 
+import com.example.badminton_booking.dto.CursorPage;
+import com.example.badminton_booking.dto.NotificationResponse;
+import com.example.badminton_booking.dto.PageCursor;
 import com.example.badminton_booking.entity.Notification;
+import com.example.badminton_booking.event.NotificationsCreatedEvent;
 import com.example.badminton_booking.repository.NotificationRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +23,13 @@ import java.util.UUID;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
 
     public List<Notification> getUserNotifications(UUID userId) {
         return notificationRepository.findByReceiverIdOrderByCreatedAtDesc(userId);
@@ -23,6 +39,60 @@ public class NotificationService {
         return notificationRepository.findByReceiverIdAndIsReadFalseOrderByCreatedAtDesc(userId);
     }
 
+    public CursorPage<NotificationResponse> getUserNotificationsPage(UUID userId, String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<NotificationResponse> rows;
+        if (cursor == null) {
+            rows = notificationRepository.findResponsesByReceiverId(userId, limit);
+        } else {
+            PageCursor before = PageCursor.decode(cursor);
+            rows = notificationRepository.findResponsesByReceiverIdBefore(userId, before.createdAt(), before.id(), limit);
+        }
+        return CursorPage.of(rows, pageSize, NotificationService::cursorOf);
+    }
+
+    public CursorPage<NotificationResponse> getUnreadNotificationsPage(UUID userId, String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<NotificationResponse> rows;
+        if (cursor == null) {
+            rows = notificationRepository.findUnreadResponsesByReceiverId(userId, limit);
+        } else {
+            PageCursor before = PageCursor.decode(cursor);
+            rows = notificationRepository.findUnreadResponsesByReceiverIdBefore(userId, before.createdAt(), before.id(), limit);
+        }
+        return CursorPage.of(rows, pageSize, NotificationService::cursorOf);
+    }
+
+    private static PageCursor cursorOf(NotificationResponse notification) {
+        return new PageCursor(notification.getCreatedAt(), notification.getId());
+    }
+
+    /**
+     * Inserts notifications as JDBC batches of {@code hibernate.jdbc.batch_size} rows. Each batch
+     * is flushed and detached right away, so broadcasting to tens of thousands of receivers keeps
+     * the persistence context (and heap) small. Receivers and bookings should be references
+     * ({@code getReferenceById}) rather than loaded entities.
+     */
+    @Transactional
+    public void createAll(List<Notification> notifications) {
+        for (int from = 0; from < notifications.size(); from += batchSize) {
+            List<Notification> chunk = notifications.subList(from, Math.min(from + batchSize, notifications.size()));
+            chunk.forEach(entityManager::persist);
+            entityManager.flush();
+            chunk.forEach(entityManager::detach);
+        }
+        eventPublisher.publishEvent(new NotificationsCreatedEvent(notifications));
+    }
+
+    @Transactional
+    public Notification create(Notification notification) {
+        notification = notificationRepository.save(notification);
+        eventPublisher.publishEvent(new NotificationsCreatedEvent(List.of(notification)));
+        return notification;
+    }
+
     @Transactional
     public void markAsRead(UUID notificationId) {
         Notification notification = notificationRepository.findById(notificationId)
@@ -31,11 +101,13 @@ public class NotificationService {
         notificationRepository.save(notification);
     }
 
+    // One UPDATE however many notifications are unread; returns how many were marked
     @Transactional
-    public void markAllAsRead(UUID userId) {
-        List<Notification> notifications = notificationRepository.findByReceiverIdAndIsReadFalseOrderByCreatedAtDesc(userId);
-        notifications.forEach(n -> n.setIsRead(true));
-        notificationRepository.saveAll(notifications);
+    public int markAllAsRead(UUID userId) {
+        return notificationRepository.markAllAsReadByReceiverId(userId);
     }
-}
 
+    public long countUnread(UUID userId) {
+        return notificationRepository.countByReceiverIdAndIsReadFalse(userId);
+    }
+}
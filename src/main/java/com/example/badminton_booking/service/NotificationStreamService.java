@@ -0,0 +1,51 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.dto.NotificationResponse;
+import com.example.badminton_booking.entity.Notification;
+import com.example.badminton_booking.event.NotificationsCreatedEvent;
+import com.example.badminton_booking.sse.SseBroker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+/**
+ * Pushes new notifications to the receiver's open event streams once the transaction that
+ * created them commits. Clients load the unread list once and then follow the stream instead
+ * of polling {@code /api/notifications/unread}.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationStreamService {
+
+    public static final String EVENT_NAME = "notification";
+
+    private final SseBroker sseBroker;
+
+    public SseEmitter subscribe(UUID userId) {
+        return sseBroker.subscribe(topic(userId), true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsCreated(NotificationsCreatedEvent event) {
+        for (Notification notification : event.notifications()) {
+            String topic = topic(notification.getReceiver().getId());
+            // Most receivers are offline; don't build a payload for them
+            if (sseBroker.hasSubscribers(topic)) {
+                sseBroker.publish(topic, EVENT_NAME, toResponse(notification));
+            }
+        }
+    }
+
+    private static String topic(UUID userId) {
+        return "notifications:" + userId;
+    }
+
+    private static NotificationResponse toResponse(Notification notification) {
+        return new NotificationResponse(notification.getId(), notification.getBooking().getId(),
+                notification.getTitle(), notification.getContent(), notification.getType(),
+                notification.getIsRead(), notification.getCreatedAt());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.repository.OutboxMessageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps {@code outbox_messages} (and {@code idx_outbox_due}) from growing forever. Messages
+ * delivered more than {@code mail.outbox.retention.sent-age-days} ago are deleted; pending and
+ * failed rows are left alone.
+ * <p>
+ * Batched the same way as {@link NotificationRetentionJob}: {@code batch-size} rows per short
+ * transaction, a pause in between, and at most {@code max-batches-per-run} batches per run.
+ */
+@Component
+@Slf4j
+public class OutboxRetentionJob {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final Duration sentAge;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration pause;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public OutboxRetentionJob(OutboxMessageRepository outboxMessageRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${mail.outbox.retention.enabled:true}") boolean enabled,
+                              @Value("${mail.outbox.retention.sent-age-days:30}") long sentAgeDays,
+                              @Value("${mail.outbox.retention.batch-size:500}") int batchSize,
+                              @Value("${mail.outbox.retention.max-batches-per-run:1000}") int maxBatchesPerRun,
+                              @Value("${mail.outbox.retention.pause-ms:100}") long pauseMillis) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.sentAge = Duration.ofDays(sentAgeDays);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pause = Duration.ofMillis(pauseMillis);
+    }
+
+    @Scheduled(cron = "${mail.outbox.retention.cron:0 0 4 * * *}")
+    public void run() {
+        if (enabled) {
+            purgeSentBefore(LocalDateTime.now().minus(sentAge));
+        }
+    }
+
+    /**
+     * Deletes messages sent before {@code cutoff} and returns how many were removed. Returns 0 if
+     * a run is already in progress.
+     */
+    public long purgeSentBefore(LocalDateTime cutoff) {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        long total = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Integer removed = transactionTemplate.execute(status -> purgeBatch(cutoff));
+                total += removed;
+                if (removed < batchSize) {
+                    break;
+                }
+                // Give the dispatcher room between batches
+                Thread.sleep(pause);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Outbox retention stopped after {} rows", total, e);
+        } finally {
+            running.set(false);
+        }
+        if (total > 0) {
+            log.info("Deleted {} outbox messages sent before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private int purgeBatch(LocalDateTime cutoff) {
+        List<UUID> ids = outboxMessageRepository.findSentIdsBefore(cutoff, Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return outboxMessageRepository.deleteByIds(ids);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.entity.RefreshToken;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.RefreshTokenRepository;
+import com.example.badminton_booking.security.JwtTokenProvider;
+import com.example.badminton_booking.security.RevokedSessions;
+import com.example.badminton_booking.security.TokenClaims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Login sessions, one {@code refresh_tokens} row per device. Logging in on a new device no
+ * longer touches the {@code users} row or signs out the others; beyond
+ * {@code jwt.refresh-tokens.max-per-user} live sessions the oldest are revoked.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int DEVICE_LENGTH = 200;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RevokedSessions revokedSessions;
+    private final int maxPerUser;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               JwtTokenProvider jwtTokenProvider,
+                               RevokedSessions revokedSessions,
+                               @Value("${jwt.refresh-tokens.max-per-user:10}") int maxPerUser) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.revokedSessions = revokedSessions;
+        this.maxPerUser = maxPerUser;
+    }
+
+    public record Session(UUID id, String refreshToken, LocalDateTime expiresAt) {
+    }
+
+    @Transactional
+    public Session open(User user, UserDetails userDetails, String device) {
+        String tokenId = newTokenId();
+        LocalDateTime now = LocalDateTime.now();
+
+        RefreshToken row = new RefreshToken();
+        row.setUser(user);
+        row.setTokenHash(hash(tokenId));
+        row.setDevice(device != null && device.length() > DEVICE_LENGTH ? device.substring(0, DEVICE_LENGTH) : device);
+        row.setExpiresAt(now.plusNanos(jwtTokenProvider.getRefreshTokenExpiration() * 1_000_000));
+        row = refreshTokenRepository.saveAndFlush(row);
+
+        List<UUID> active = refreshTokenRepository.findActiveIds(user.getId(), now);
+        if (active.size() > maxPerUser) {
+            List<UUID> oldest = active.subList(maxPerUser, active.size());
+            refreshTokenRepository.revokeByIds(oldest, now);
+            revokedSessions.add(oldest);
+        }
+
+        String refreshToken = jwtTokenProvider.generateRefreshToken(userDetails, row.getId(), tokenId);
+        return new Session(row.getId(), refreshToken, row.getExpiresAt());
+    }
+
+    /**
+     * Returns the live session a refresh token belongs to, with its user and role loaded, or
+     * throws if the token is invalid, expired or logged out.
+     */
+    @Transactional(readOnly = true)
+    public RefreshToken resolve(String refreshToken) {
+        TokenClaims claims = jwtTokenProvider.parseRefreshToken(refreshToken);
+        RefreshToken row = refreshTokenRepository.findByTokenHash(hash(claims.tokenId()))
+                .orElseThrow(() -> new RuntimeException("Refresh token không hợp lệ"));
+
+        if (!row.getId().equals(claims.sessionId()) || row.getRevokedAt() != null) {
+            throw new RuntimeException("Refresh token không hợp lệ");
+        }
+        if (row.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Refresh token đã hết hạn");
+        }
+        return row;
+    }
+
+    @Transactional
+    public void revoke(UUID userId, UUID sessionId) {
+        if (refreshTokenRepository.revoke(sessionId, userId, LocalDateTime.now()) > 0) {
+            revokedSessions.add(List.of(sessionId));
+        }
+    }
+
+    @Transactional
+    public void revokeAll(UUID userId) {
+        List<UUID> ids = refreshTokenRepository.findUnrevokedIds(userId);
+        if (!ids.isEmpty()) {
+            refreshTokenRepository.revokeByIds(ids, LocalDateTime.now());
+            revokedSessions.add(ids);
+        }
+    }
+
+    private static String newTokenId() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // The jti is 256 random bits, so a plain SHA-256 is enough to make a leaked table useless
+    static String hash(String tokenId) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(tokenId.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Deletes {@code refresh_tokens} rows that can no longer be used: expired ones, and revoked ones
+ * older than the access-token lifetime (no access token can still carry their {@code sid}).
+ * Same batching as {@link NotificationRetentionJob}: short transactions of {@code batch-size}
+ * rows with a pause in between, at most {@code max-batches-per-run} per run.
+ */
+@Component
+@Slf4j
+public class RefreshTokenSweeper {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final Duration revokedAge;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration pause;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public RefreshTokenSweeper(RefreshTokenRepository refreshTokenRepository,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${jwt.access-token-expiration}") long accessTokenExpirationMillis,
+                               @Value("${jwt.refresh-tokens.sweeper.enabled:true}") boolean enabled,
+                               @Value("${jwt.refresh-tokens.sweeper.batch-size:500}") int batchSize,
+                               @Value("${jwt.refresh-tokens.sweeper.max-batches-per-run:1000}") int maxBatchesPerRun,
+                               @Value("${jwt.refresh-tokens.sweeper.pause-ms:100}") long pauseMillis) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.revokedAge = Duration.ofMillis(accessTokenExpirationMillis);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pause = Duration.ofMillis(pauseMillis);
+    }
+
+    @Scheduled(cron = "${jwt.refresh-tokens.sweeper.cron:0 15 * * * *}")
+    public void run() {
+        if (enabled) {
+            purge(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Deletes sessions that are expired or were revoked before {@code now} minus the access-token
+     * lifetime, and returns how many were removed. Returns 0 if a run is already in progress.
+     */
+    public long purge(LocalDateTime now) {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        LocalDateTime revokedBefore = now.minus(revokedAge);
+        long total = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Integer removed = transactionTemplate.execute(status -> purgeBatch(now, revokedBefore));
+                total += removed;
+                if (removed < batchSize) {
+                    break;
+                }
+                // Give logins room between batches
+                Thread.sleep(pause);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Refresh token sweep stopped after {} rows", total, e);
+        } finally {
+            running.set(false);
+        }
+        if (total > 0) {
+            log.info("Deleted {} expired or revoked refresh tokens", total);
+        }
+        return total;
+    }
+
+    private int purgeBatch(LocalDateTime now, LocalDateTime revokedBefore) {
+        List<UUID> ids = refreshTokenRepository.findPurgeableIds(now, revokedBefore, Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return refreshTokenRepository.deleteByIds(ids);
+    }
+}
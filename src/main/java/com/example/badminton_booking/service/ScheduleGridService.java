@@ -0,0 +1,75 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.cache.BookingAvailabilityIndex;
+import com.example.badminton_booking.cache.CourtCatalog;
+import com.example.badminton_booking.dto.ScheduleGrid;
+import com.example.badminton_booking.entity.Court;
+import com.example.badminton_booking.lock.BookingLockManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Builds the booking page's grid from the court catalog and the availability index, so a week
+ * on every court is a few hundred bytes and costs no query. Past days, which the index no longer
+ * holds, cost one query for the whole range. With cluster-wide locking (several nodes) the index
+ * only sees this node's bookings, so every day comes from that one query instead. Who booked, and
+ * the exact times, are still available from the weekly endpoints.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScheduleGridService {
+
+    private final CourtCatalog courtCatalog;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final BookingLockManager bookingLockManager;
+
+    @Value("${booking.grid.max-days:31}")
+    private int maxDays;
+
+    public ScheduleGrid getGrid(LocalDate startDate, LocalDate endDate, int slotMinutes) {
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException("Ngày kết thúc phải sau ngày bắt đầu");
+        }
+        long dayCount = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        if (dayCount > maxDays) {
+            throw new RuntimeException("Chỉ lấy được tối đa " + maxDays + " ngày mỗi lần");
+        }
+        if (slotMinutes <= 0 || slotMinutes > 60 || slotMinutes % BookingAvailabilityIndex.SLOT_MINUTES != 0) {
+            throw new RuntimeException("slotMinutes phải là bội số của " + BookingAvailabilityIndex.SLOT_MINUTES
+                    + " và không quá 60");
+        }
+
+        BookingAvailabilityIndex.Occupancy occupancy = bookingLockManager.isClusterWide()
+                ? availabilityIndex.loadOccupancy(startDate, endDate)
+                : availabilityIndex.occupancy(startDate, endDate);
+        List<ScheduleGrid.CourtDays> courts = new ArrayList<>();
+        for (Court court : courtCatalog.snapshot().active()) {
+            long openMinutes = Duration.between(court.getOpenTime(), court.getCloseTime()).toMinutes();
+            int slots = (int) ((openMinutes + slotMinutes - 1) / slotMinutes);
+            List<String> days = new ArrayList<>();
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                BitSet taken = occupancy.of(court.getId(), date,
+                        court.getOpenTime(), court.getCloseTime(), slotMinutes);
+                days.add(encode(taken, slots));
+            }
+            courts.add(new ScheduleGrid.CourtDays(court.getId(), court.getOpenTime(), court.getCloseTime(), days));
+        }
+        return new ScheduleGrid(startDate, endDate, slotMinutes, courts);
+    }
+
+    // BitSet drops trailing zero bytes; pad so every day of a court has the same length
+    private static String encode(BitSet taken, int slots) {
+        byte[] bytes = Arrays.copyOf(taken.toByteArray(), (slots + 7) / 8);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.dto.SlotChange;
+import com.example.badminton_booking.event.BookingChangedEvent;
+import com.example.badminton_booking.sse.SseBroker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Live slot availability for one court and ISO week. Players on the booking page see slots
+ * being taken and freed as it happens instead of learning at submit time.
+ */
+@Service
+@RequiredArgsConstructor
+public class SlotStreamService {
+
+    public static final String EVENT_NAME = "slot";
+
+    private final SseBroker sseBroker;
+
+    public SseEmitter subscribe(Integer courtId, LocalDate dayInWeek) {
+        // Shared by every player looking at this court and week
+        return sseBroker.subscribe(topic(courtId, dayInWeek), false);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        boolean wasTaken = isActive(event.previousStatus());
+        boolean taken = isActive(event.status());
+        // PENDING -> APPROVED keeps the slot, so there is nothing to tell
+        if (wasTaken == taken) {
+            return;
+        }
+        String topic = topic(event.courtId(), event.bookingDate());
+        if (sseBroker.hasSubscribers(topic)) {
+            sseBroker.publish(topic, EVENT_NAME, new SlotChange(taken ? SlotChange.TAKEN : SlotChange.FREED,
+                    event.bookingId(), event.courtId(), event.bookingDate(), event.startTime(), event.endTime()));
+        }
+    }
+
+    private static boolean isActive(String status) {
+        return "PENDING".equals(status) || "APPROVED".equals(status);
+    }
+
+    private static String topic(Integer courtId, LocalDate date) {
+        return "slots:" + courtId + ":" + date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.badminton_booking.sse;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fan-out hub for Server-Sent Events. Clients subscribe to a topic (a string such as
+ * {@code notifications:<userId>}) and receive whatever is published to it while connected.
+ * <p>
+ * Publishing only queues into each connection's buffer ({@code sse.buffer-size} messages), so
+ * callers never wait on a socket. A comment line goes out every {@code sse.heartbeat-ms} to keep
+ * proxies from closing idle streams and to notice dead clients. The number of open streams is
+ * published as the {@code sse.connections} gauge and capped at {@code sse.max-connections}.
+ */
+@Component
+public class SseBroker {
+
+    private final Map<String, List<SseConnection>> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final int maxConnectionsPerTopic;
+    private final int maxConnections;
+
+    public SseBroker(MeterRegistry meterRegistry,
+                     @Value("${sse.buffer-size:64}") int bufferSize,
+                     @Value("${sse.timeout-minutes:30}") long timeoutMinutes,
+                     @Value("${sse.max-connections-per-topic:5}") int maxConnectionsPerTopic,
+                     @Value("${sse.max-connections:10000}") int maxConnections) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = Duration.ofMinutes(timeoutMinutes).toMillis();
+        this.maxConnectionsPerTopic = maxConnectionsPerTopic;
+        this.maxConnections = maxConnections;
+        Gauge.builder("sse.connections", this, SseBroker::connectionCount).register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream on {@code topic}. A {@code perUser} topic belongs to one user, so past
+     * {@code sse.max-connections-per-topic} streams (a user with many tabs) the oldest one is closed.
+     * Shared topics, such as a court's week, take any number of viewers; once
+     * {@code sse.max-connections} streams are open, new ones are refused with
+     * {@link SseCapacityExceededException} instead of closing someone else's.
+     */
+    public SseEmitter subscribe(String topic, boolean perUser) {
+        // A user at their tab limit swaps one stream for another, so only growth is refused
+        boolean replacesOwn = perUser && topicSize(topic) >= maxConnectionsPerTopic;
+        if (!replacesOwn && connectionCount.get() >= maxConnections) {
+            throw new SseCapacityExceededException();
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        SseConnection connection = new SseConnection(topic, emitter, bufferSize, this::remove);
+        List<SseConnection> evicted = new ArrayList<>();
+        topics.compute(topic, (key, connections) -> {
+            List<SseConnection> list = connections == null ? new CopyOnWriteArrayList<>() : connections;
+            list.add(connection);
+            connectionCount.incrementAndGet();
+            while (perUser && list.size() > maxConnectionsPerTopic) {
+                evicted.add(list.removeFirst());
+                connectionCount.decrementAndGet();
+            }
+            return list;
+        });
+        evicted.forEach(SseConnection::close);
+
+        connection.start();
+        // Lets the client know the stream is live before the first real event
+        connection.offer(null, "connected");
+        return emitter;
+    }
+
+    public void publish(String topic, String eventName, Object data) {
+        List<SseConnection> connections = topics.get(topic);
+        if (connections != null) {
+            for (SseConnection connection : connections) {
+                connection.offer(eventName, data);
+            }
+        }
+    }
+
+    public boolean hasSubscribers(String topic) {
+        return topics.containsKey(topic);
+    }
+
+    @Scheduled(fixedDelayString = "${sse.heartbeat-ms:15000}")
+    public void heartbeat() {
+        topics.values().forEach(connections -> connections.forEach(connection -> connection.offer(null, "ping")));
+    }
+
+    // Before the web server's graceful shutdown, which would otherwise wait on every open stream
+    @EventListener(ContextClosedEvent.class)
+    public void shutdown() {
+        List<SseConnection> all = new ArrayList<>();
+        topics.values().forEach(all::addAll);
+        all.forEach(SseConnection::close);
+    }
+
+    int connectionCount() {
+        return connectionCount.get();
+    }
+
+    private int topicSize(String topic) {
+        List<SseConnection> connections = topics.get(topic);
+        return connections == null ? 0 : connections.size();
+    }
+
+    private void remove(SseConnection connection) {
+        topics.computeIfPresent(connection.topic(), (key, connections) -> {
+            if (connections.remove(connection)) {
+                connectionCount.decrementAndGet();
+            }
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+}
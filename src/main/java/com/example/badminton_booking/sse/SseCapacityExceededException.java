@@ -0,0 +1,12 @@
+package com.example.badminton_booking.sse;
+
+/**
+ * Thrown when {@code sse.max-connections} streams are already open; answered with 503 so
+ * EventSource clients stop instead of reconnecting in a loop.
+ */
+public class SseCapacityExceededException extends RuntimeException {
+
+    public SseCapacityExceededException() {
+        super("Hệ thống đang bận, vui lòng thử lại sau");
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.badminton_booking.sse;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * One open event stream: a bounded buffer of pending messages drained onto the emitter by a
+ * dedicated virtual thread, so a slow socket only ever blocks its own writer.
+ */
+final class SseConnection {
+
+    private final String topic;
+    private final SseEmitter emitter;
+    private final BlockingQueue<Message> buffer;
+    private final Consumer<SseConnection> onClose;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    SseConnection(String topic, SseEmitter emitter, int bufferSize, Consumer<SseConnection> onClose) {
+        this.topic = topic;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.onClose = onClose;
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(e -> close());
+    }
+
+    String topic() {
+        return topic;
+    }
+
+    void start() {
+        Thread.ofVirtual().name("sse-" + topic).start(this::drain);
+    }
+
+    /**
+     * Queues an event (or a comment when {@code name} is null). A client that has fallen a full
+     * buffer behind is disconnected rather than buffered without bound; it reconnects and reloads.
+     */
+    boolean offer(String name, Object data) {
+        if (closed.get()) {
+            return false;
+        }
+        if (buffer.offer(new Message(name, data))) {
+            return true;
+        }
+        close();
+        return false;
+    }
+
+    void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        onClose.accept(this);
+        try {
+            emitter.complete();
+        } catch (RuntimeException ignored) {
+            // Already completed by the container
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!closed.get()) {
+                // Polls so a close from another thread is noticed without interrupting a socket write
+                Message message = buffer.poll(1, TimeUnit.SECONDS);
+                if (message != null) {
+                    emitter.send(message.toEvent());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // Client went away
+        } finally {
+            close();
+        }
+    }
+
+    private record Message(String name, Object data) {
+
+        // Builders are single-use, so one is made per send
+        SseEmitter.SseEventBuilder toEvent() {
+            if (name == null) {
+                return SseEmitter.event().comment(String.valueOf(data));
+            }
+            return SseEmitter.event().name(name).data(data);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.badminton_booking.cache;
+
+import com.example.badminton_booking.entity.Booking;
+import com.example.badminton_booking.entity.Court;
+import com.example.badminton_booking.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Slot bit math of the index, without Spring or a database. Slots are 5 minutes, so a 64-bit
+ * word covers 5h20m: slot 64 starts at 05:20 and slot 128 at 10:40.
+ */
+class BookingAvailabilityIndexTest {
+
+    private static final int COURT = 1;
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+    private static final String END_OF_DAY = "23:59:59.999999999";
+
+    private BookingAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // Nothing booked yet; warming up makes today and later days authoritative
+        index = new BookingAvailabilityIndex(mock(BookingRepository.class));
+        index.warmUp();
+    }
+
+    @Test
+    void rangesCrossingWordBoundariesSetExactlyTheirSlots() {
+        reserve("05:00", "05:40");
+        reserve("10:20", "11:00");
+
+        BitSet expected = range(60, 68);
+        expected.set(124, 132);
+        assertEquals(expected, occupied());
+        assertTrue(taken("05:35", "05:40"));
+        assertTrue(taken("10:35", "10:45"));
+        assertFalse(taken("04:55", "05:00"));
+        assertFalse(taken("05:40", "10:20"));
+        assertFalse(taken("11:00", "11:05"));
+    }
+
+    @Test
+    void aBookingCoveringAWholeWordLeavesItsNeighboursFree() {
+        reserve("05:20", "10:40");
+
+        assertEquals(range(64, 128), occupied());
+        assertFalse(taken("05:15", "05:20"));
+        assertFalse(taken("10:40", "10:45"));
+        assertTrue(taken("00:00", "23:00"));
+    }
+
+    @Test
+    void theLastSlotOfTheDayIsIndexed() {
+        reserve("23:55", END_OF_DAY);
+
+        assertEquals(range(287, 288), occupied());
+        assertTrue(taken("23:50", END_OF_DAY));
+        assertFalse(taken("23:50", "23:55"));
+    }
+
+    @Test
+    void backToBackBookingsDoNotOverlap() {
+        reserve("08:00", "09:00");
+
+        assertFalse(taken("07:00", "08:00"));
+        assertFalse(taken("09:00", "10:00"));
+        reserve("09:00", "10:00");
+        assertEquals(range(96, 120), occupied());
+    }
+
+    @Test
+    void unalignedBookingsAreCheckedAgainstTheirExactInterval() {
+        reserve("10:02", "10:58");
+
+        // The bits round out to whole slots
+        assertEquals(range(120, 132), occupied());
+        // ...but requests in the rounded-off minutes are free
+        assertFalse(taken("10:00", "10:02"));
+        assertFalse(taken("10:58", "11:00"));
+        assertTrue(taken("10:57", "10:59"));
+        assertTrue(taken("10:00", "10:03"));
+    }
+
+    @Test
+    void removingABookingKeepsSlotsANeighbourStillCovers() {
+        // Both round into the 10:30 slot (126)
+        Booking first = reserve("10:02", "10:32");
+        reserve("10:33", "11:00");
+        assertEquals(range(120, 132), occupied());
+
+        index.release(first);
+
+        assertEquals(range(126, 132), occupied());
+        assertFalse(taken("10:00", "10:30"));
+        assertTrue(taken("10:30", "10:35"));
+        assertFalse(taken("10:30", "10:33"));
+    }
+
+    private Booking reserve(String start, String end) {
+        Booking booking = new Booking();
+        booking.setId(UUID.randomUUID());
+        booking.setCourt(new Court(COURT, "Sân 1", null, LocalTime.of(6, 0), LocalTime.of(22, 0), true, null));
+        booking.setBookingDate(DAY);
+        booking.setStartTime(LocalTime.parse(start));
+        booking.setEndTime(LocalTime.parse(end));
+        // No transaction here, so the change applies at once
+        index.reserve(booking);
+        return booking;
+    }
+
+    private boolean taken(String start, String end) {
+        return index.isSlotTaken(COURT, DAY, LocalTime.parse(start), LocalTime.parse(end));
+    }
+
+    private BitSet occupied() {
+        return index.occupancy(DAY, DAY).of(COURT, DAY, LocalTime.MIDNIGHT, LocalTime.MAX, BookingAvailabilityIndex.SLOT_MINUTES);
+    }
+
+    private static BitSet range(int from, int to) {
+        BitSet bits = new BitSet();
+        bits.set(from, to);
+        return bits;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.badminton_booking.jdbc;
+
+import com.example.badminton_booking.dto.BookingResponse;
+import com.example.badminton_booking.entity.Booking;
+import com.example.badminton_booking.entity.Notification;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.BookingRepository;
+import com.example.badminton_booking.repository.CourtRepository;
+import com.example.badminton_booking.repository.UserRepository;
+import com.example.badminton_booking.service.BookingService;
+import com.example.badminton_booking.service.NotificationService;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import com.example.badminton_booking.support.TestBookings;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.badminton_booking.support.TestBookings.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Threshold 0: every statement counts as slow, so each one is logged
+@H2IntegrationTest(properties = "db.observation.slow-query-threshold-ms=0")
+@ExtendWith(OutputCaptureExtension.class)
+class QueryObservationTest {
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestBookings testBookings;
+
+    @Value("${admin.email}")
+    private String adminEmail;
+
+    @Test
+    void statementsAreTimedPerRepositoryMethodAndLoggedAsJson(CapturedOutput output) throws Exception {
+        courtRepository.findByIsActiveTrue();
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM courts", Long.class);
+
+        Timer finder = meterRegistry.find("db.query")
+                .tags("repository.method", "CourtRepository.findByIsActiveTrue", "operation", "select").timer();
+        assertNotNull(finder);
+        assertTrue(finder.count() >= 1);
+        assertNotNull(meterRegistry.find("db.query").tags("repository.method", "none", "operation", "select").timer());
+
+        assertTrue(output.getOut().contains("\"event\":\"slow_query\""));
+        assertTrue(output.getOut().contains("\"repositoryMethod\":\"CourtRepository.findByIsActiveTrue\",\"operation\":\"select\""));
+        assertTrue(output.getOut().contains("\"repositoryMethod\":\"none\",\"operation\":\"select\""));
+
+        // The pool is still reachable behind the wrapper
+        assertNotNull(dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean());
+    }
+
+    @Test
+    void batchedInsertsFlushedAtCommitBelongToTheRepositoryMethod(CapturedOutput output) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            users.add(testBookings.newPlayer());
+        }
+        userRepository.saveAll(users);
+
+        assertTrue(output.getOut().contains(
+                "\"repositoryMethod\":\"UserRepository.saveAll\",\"operation\":\"insert\",\"batchSize\":3"));
+    }
+
+    @Test
+    void writesFlushedOutsideRepositoriesBelongToTheServiceMethod(CapturedOutput output) {
+        User player = userRepository.save(testBookings.newPlayer());
+        Integer courtId = courtRepository.findByIsActiveTrue().get(0).getId();
+        LocalDate monday = LocalDate.now().plusWeeks(72).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        // The booking is flushed by createAll's explicit flush, inside the TransactionTemplate of createBooking
+        BookingResponse response = bookingService.createBooking(player.getId(), request(courtId, monday, 8));
+
+        // Called on its own, createAll is the outermost service method
+        Booking booking = bookingRepository.findById(response.getId()).orElseThrow();
+        User admin = userRepository.findByEmail(adminEmail).orElseThrow();
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Notification notification = new Notification();
+            notification.setReceiver(admin);
+            notification.setBooking(booking);
+            notification.setTitle("Observed");
+            notification.setType("BOOKING_REQUEST");
+            notifications.add(notification);
+        }
+        notificationService.createAll(notifications);
+
+        List<JsonNode> inserts = slowQueries(output).stream()
+                .filter(entry -> entry.get("operation").asString().equals("insert"))
+                .toList();
+        assertEquals(List.of("BookingService.createBooking"), repositoryMethods(inserts, "insert into bookings"));
+        assertTrue(repositoryMethods(inserts, "insert into notifications").containsAll(
+                List.of("BookingService.createBooking", "NotificationService.createAll")));
+        assertTrue(inserts.stream().anyMatch(entry -> entry.get("repositoryMethod").asString().equals("NotificationService.createAll")
+                && entry.get("batchSize").asInt() == 3));
+        assertTrue(inserts.stream().noneMatch(entry -> entry.get("repositoryMethod").asString().equals("none")));
+        assertNotNull(meterRegistry.find("db.query")
+                .tags("repository.method", "BookingService.createBooking", "operation", "insert").timer());
+    }
+
+    @Test
+    void operationIsTakenFromTheLeadingKeyword() {
+        assertEquals("select", QueryObserver.operation("  with recent as (select 1) select * from recent"));
+        assertEquals("update", QueryObserver.operation("UPDATE bookings SET status = ?"));
+        assertEquals("other", QueryObserver.operation("call next value for seq"));
+        assertEquals("other", QueryObserver.operation(null));
+    }
+
+    private List<JsonNode> slowQueries(CapturedOutput output) {
+        return output.getOut().lines()
+                .filter(line -> line.contains("{\"event\":\"slow_query\""))
+                .map(line -> jsonMapper.readTree(line.substring(line.indexOf("{\"event\""))))
+                .toList();
+    }
+
+    private static List<String> repositoryMethods(List<JsonNode> entries, String sqlPrefix) {
+        return entries.stream()
+                .filter(entry -> entry.get("sql").asString().startsWith(sqlPrefix))
+                .map(entry -> entry.get("repositoryMethod").asString())
+                .distinct()
+                .toList();
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.badminton_booking.loadtest;
+
+import com.example.badminton_booking.entity.Court;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.loadtest.LatencyRecorder.EndpointSummary;
+import com.example.badminton_booking.loadtest.LatencyRecorder.Outcome;
+import com.example.badminton_booking.loadtest.PoolSampler.PoolSummary;
+import com.example.badminton_booking.repository.CourtRepository;
+import com.example.badminton_booking.repository.UserRepository;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import com.example.badminton_booking.support.TestBookings;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Saturday-morning stampede against the full HTTP stack on H2 (PostgreSQL mode).
+ * <p>
+ * Players log in, read the weekly calendar and race each other for a small set of hot slots,
+ * while admins approve or reject what is pending. Each worker is a virtual thread issuing
+ * requests back to back (closed model). Run with:
+ * <pre>
+ * mvn test -Ploadtest [-Dloadtest.duration-seconds=60 -Dloadtest.players=64 -Dloadtest.ramp-up-seconds=5 -Dloadtest.label=baseline]
+ * </pre>
+ * Per-endpoint p50/p99/p99.9 latency and throughput are written to target/loadtest/&lt;label&gt;.json,
+ * together with how saturated the connection pool got. To compare against the production
+ * profile (virtual threads, tuned pool), run the same command again with
+ * {@code -Dspring.profiles.include=prod -Dloadtest.label=prod}.
+ */
+@H2IntegrationTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Tag("loadtest")
+class BookingLoadTest {
+
+    private static final String PASSWORD = "Player@123";
+
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+    private final int players = Integer.getInteger("loadtest.players", 32);
+    private final int admins = Integer.getInteger("loadtest.admins", 2);
+    private final int rampUpSeconds = Integer.getInteger("loadtest.ramp-up-seconds", 5);
+    private final String label = System.getProperty("loadtest.label", "default");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestBookings testBookings;
+
+    @Value("${admin.email}")
+    private String adminEmail;
+
+    @Value("${admin.password}")
+    private String adminPassword;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private HttpClient client;
+
+    @Test
+    void bookingStampede() throws Exception {
+        List<String> emails = seedPlayers();
+        List<Integer> courtIds = courtRepository.findByIsActiveTrue().stream().map(Court::getId).toList();
+        LocalDate saturday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.SATURDAY));
+
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        PoolSampler poolSampler = new PoolSampler(pool.getHikariPoolMXBean(), 20);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        long started = System.nanoTime();
+        try (poolSampler;
+             ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+            client = httpClient;
+            for (int i = 0; i < emails.size(); i++) {
+                String email = emails.get(i);
+                // Spread the initial logins so a cold JVM is not hit by every BCrypt check at once
+                long delayMillis = TimeUnit.SECONDS.toMillis(rampUpSeconds) * i / emails.size();
+                workers.execute(() -> {
+                    sleep(delayMillis);
+                    runPlayer(email, courtIds, saturday, deadline);
+                });
+            }
+            for (int i = 0; i < admins; i++) {
+                workers.execute(() -> runAdmin(deadline));
+            }
+            workers.shutdown();
+            workers.awaitTermination(durationSeconds + 60L, TimeUnit.SECONDS);
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        Map<String, EndpointSummary> summary = recorder.summarise(elapsedSeconds);
+        Counter timeouts = meterRegistry.find("hikaricp.connections.timeout").counter();
+        PoolSummary poolSummary = poolSampler.summarise(pool.getMaximumPoolSize(),
+                timeouts == null ? 0 : (long) timeouts.count());
+        Path report = writeReport(summary, poolSummary, elapsedSeconds);
+        summary.forEach((endpoint, s) -> System.out.printf(
+                "%-24s n=%-7d ok=%-7d rejected=%-6d errors=%-4d %8.1f req/s  p50=%7.2fms p99=%8.2fms p99.9=%8.2fms%n",
+                endpoint, s.count(), s.ok(), s.rejected(), s.errors(), s.throughputPerSecond(),
+                s.p50Ms(), s.p99Ms(), s.p999Ms()));
+        System.out.printf("pool size=%d maxActive=%d maxPending=%d saturated=%.1f%% timeouts=%d virtualThreads=%s%n",
+                poolSummary.poolSize(), poolSummary.maxActive(), poolSummary.maxPending(),
+                poolSummary.saturatedFraction() * 100, poolSummary.timeouts(), virtualThreads());
+        System.out.println("Load test report written to " + report.toAbsolutePath());
+
+        assertTrue(summary.containsKey("POST /api/bookings"));
+        summary.forEach((endpoint, s) -> assertEquals(0, s.errors(), "Server errors on " + endpoint));
+        assertEquals(0, poolSummary.timeouts(), "Requests timed out waiting for a database connection");
+    }
+
+    private void runPlayer(String email, List<Integer> courtIds, LocalDate saturday, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String token = login(email, PASSWORD);
+        // Busy logins answer 429 with Retry-After: 1
+        while (token == null && System.nanoTime() < deadline) {
+            sleep(1000);
+            token = login(email, PASSWORD);
+        }
+        while (token != null && System.nanoTime() < deadline) {
+            int roll = random.nextInt(100);
+            if (roll < 70) {
+                LocalDate monday = saturday.minusDays(5).plusWeeks(random.nextInt(2));
+                call("GET /api/bookings/weekly", token, HttpRequest.newBuilder(uri(
+                        "/api/bookings/weekly?startDate=" + monday + "&endDate=" + monday.plusDays(6))).GET());
+            } else if (roll < 95) {
+                // Everyone wants Saturday morning on one of the first few weekends
+                LocalDate date = saturday.plusWeeks(random.nextInt(4));
+                int hour = 6 + random.nextInt(6);
+                String body = String.format(
+                        "{\"courtId\":%d,\"bookingDate\":\"%s\",\"startTime\":\"%02d:00\",\"endTime\":\"%02d:00\"}",
+                        courtIds.get(random.nextInt(courtIds.size())), date, hour, hour + 1);
+                call("POST /api/bookings", token, HttpRequest.newBuilder(uri("/api/bookings"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)));
+            } else {
+                String refreshed = login(email, PASSWORD);
+                token = refreshed != null ? refreshed : token;
+            }
+        }
+    }
+
+    private void runAdmin(long deadline) {
+        String token = login(adminEmail, adminPassword);
+        while (token != null && System.nanoTime() < deadline) {
+            HttpResponse<String> pending = call("GET /api/admin/bookings/pending/page", token,
+                    HttpRequest.newBuilder(uri("/api/admin/bookings/pending/page")).GET());
+            JsonNode bookings = pending != null && pending.statusCode() == 200
+                    ? jsonMapper.readTree(pending.body()).get("items") : null;
+            if (bookings == null || bookings.isEmpty()) {
+                sleep(50);
+                continue;
+            }
+            for (int i = 0; i < Math.min(5, bookings.size()) && System.nanoTime() < deadline; i++) {
+                String id = bookings.get(i).get("id").asString();
+                String action = ThreadLocalRandom.current().nextInt(5) == 0 ? "reject" : "approve";
+                call("PUT /api/admin/bookings/{id}/" + action, token,
+                        HttpRequest.newBuilder(uri("/api/admin/bookings/" + id + "/" + action))
+                                .PUT(HttpRequest.BodyPublishers.noBody()));
+            }
+        }
+    }
+
+    private String login(String email, String password) {
+        String body = String.format("{\"email\":\"%s\",\"password\":\"%s\"}", email, password);
+        HttpResponse<String> response = call("POST /api/auth/login", null,
+                HttpRequest.newBuilder(uri("/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        return jsonMapper.readTree(response.body()).get("accessToken").asString();
+    }
+
+    private HttpResponse<String> call(String endpoint, String token, HttpRequest.Builder request) {
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        request.timeout(Duration.ofSeconds(30));
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            int status = response.statusCode();
+            Outcome outcome = status < 400 ? Outcome.OK : status < 500 ? Outcome.REJECTED : Outcome.ERROR;
+            recorder.record(endpoint, System.nanoTime() - start, outcome);
+            return response;
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, Outcome.ERROR);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private List<String> seedPlayers() {
+        // Hash once: the run should measure logins, not the seeding
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            User user = testBookings.newPlayer();
+            user.setEmail("load-" + i + "@test.com");
+            user.setPassword(hash);
+            users.add(user);
+        }
+        return userRepository.saveAll(users).stream().map(User::getEmail).toList();
+    }
+
+    private Path writeReport(Map<String, EndpointSummary> summary, PoolSummary poolSummary,
+                             double elapsedSeconds) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("activeProfiles", environment.getActiveProfiles());
+        report.put("virtualThreads", virtualThreads());
+        report.put("durationSeconds", elapsedSeconds);
+        report.put("players", players);
+        report.put("admins", admins);
+        report.put("endpoints", summary);
+        report.put("pool", poolSummary);
+
+        Path path = Path.of("target", "loadtest", label + ".json");
+        Files.createDirectories(path.getParent());
+        jsonMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+        return path;
+    }
+
+    private boolean virtualThreads() {
+        return environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.badminton_booking.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects per-endpoint latencies during a load run and summarises them as percentiles.
+ * Samples are kept in full so percentiles are exact; a run produces at most a few million.
+ */
+class LatencyRecorder {
+
+    enum Outcome { OK, REJECTED, ERROR }
+
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, Outcome outcome) {
+        samples.computeIfAbsent(endpoint, k -> new Samples()).add(nanos, outcome);
+    }
+
+    Map<String, EndpointSummary> summarise(double elapsedSeconds) {
+        Map<String, EndpointSummary> summaries = new LinkedHashMap<>();
+        samples.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> summaries.put(e.getKey(), e.getValue().summarise(elapsedSeconds)));
+        return summaries;
+    }
+
+    record EndpointSummary(long count, long ok, long rejected, long errors, double throughputPerSecond,
+                           double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private final long[] outcomes = new long[Outcome.values().length];
+
+        synchronized void add(long value, Outcome outcome) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            outcomes[outcome.ordinal()]++;
+        }
+
+        synchronized EndpointSummary summarise(double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new EndpointSummary(
+                    size,
+                    outcomes[Outcome.OK.ordinal()],
+                    outcomes[Outcome.REJECTED.ordinal()],
+                    outcomes[Outcome.ERROR.ordinal()],
+                    size / elapsedSeconds,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.99),
+                    percentile(sorted, 0.999),
+                    size == 0 ? 0 : sorted[size - 1] / 1_000_000.0
+            );
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
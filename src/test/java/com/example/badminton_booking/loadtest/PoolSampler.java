@@ -0,0 +1,59 @@
+package com.example.badminton_booking.loadtest;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the Hikari pool during a load run to record how close it came to starvation:
+ * peak busy connections and peak threads waiting for one.
+ */
+class PoolSampler implements AutoCloseable {
+
+    private final HikariPoolMXBean pool;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private int maxActive;
+    private int maxPending;
+    private long pendingSamples;
+    private long samples;
+
+    PoolSampler(HikariPoolMXBean pool, long intervalMillis) {
+        this.pool = pool;
+        // A platform thread, so sampling is not starved when the server itself runs on virtual threads
+        this.thread = Thread.ofPlatform().daemon().name("pool-sampler").start(() -> {
+            while (running) {
+                sample();
+                try {
+                    TimeUnit.MILLISECONDS.sleep(intervalMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+    }
+
+    private synchronized void sample() {
+        int pending = pool.getThreadsAwaitingConnection();
+        maxActive = Math.max(maxActive, pool.getActiveConnections());
+        maxPending = Math.max(maxPending, pending);
+        pendingSamples += pending > 0 ? 1 : 0;
+        samples++;
+    }
+
+    synchronized PoolSummary summarise(int poolSize, long timeouts) {
+        return new PoolSummary(poolSize, maxActive, maxPending,
+                samples == 0 ? 0 : (double) pendingSamples / samples, timeouts);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        thread.interrupt();
+        thread.join();
+    }
+
+    // saturatedFraction: share of samples in which at least one thread was waiting for a connection
+    record PoolSummary(int poolSize, int maxActive, int maxPending, double saturatedFraction, long timeouts) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.badminton_booking.lock;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedBookingLockManagerTest {
+
+    private final StripedBookingLockManager lockManager = new StripedBookingLockManager(1024, 200);
+    private final LocalDate date = LocalDate.of(2026, 1, 10);
+
+    @Test
+    void sameCourtAndDayIsSerialized() throws Exception {
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                lockManager.withLock(1, date, () -> {
+                    held.countDown();
+                    await(release);
+                    return null;
+                }));
+        held.await();
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> lockManager.withLock(1, date, () -> "never"));
+        assertEquals("Hệ thống đang bận. Vui lòng thử lại sau.", ex.getMessage());
+
+        release.countDown();
+        holder.get(1, TimeUnit.SECONDS);
+        assertEquals("ok", lockManager.withLock(1, date, () -> "ok"));
+    }
+
+    @Test
+    void otherCourtsAndDaysDoNotWait() throws Exception {
+        BookingLockKey busy = new BookingLockKey(1, date);
+        BookingLockKey otherCourt = new BookingLockKey(2, date);
+        BookingLockKey otherDay = new BookingLockKey(1, date.plusDays(1));
+        assertNotEquals(lockManager.stripeFor(busy), lockManager.stripeFor(otherCourt));
+        assertNotEquals(lockManager.stripeFor(busy), lockManager.stripeFor(otherDay));
+
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                lockManager.withLock(busy.courtId(), busy.bookingDate(), () -> {
+                    held.countDown();
+                    await(release);
+                    return null;
+                }));
+        held.await();
+
+        assertEquals("court", lockManager.withLock(otherCourt.courtId(), otherCourt.bookingDate(), () -> "court"));
+        assertEquals("day", lockManager.withLock(otherDay.courtId(), otherDay.bookingDate(), () -> "day"));
+
+        release.countDown();
+        holder.get(1, TimeUnit.SECONDS);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.badminton_booking.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-test-secret-0123456789";
+
+    private final UserDetails user = User.withUsername("player@test.com").password("x").authorities("ROLE_USER").build();
+
+    @Test
+    void parsedTokenValidatesForItsSubject() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000L, 120_000L, 16);
+        String token = provider.generateAccessToken(user);
+
+        TokenClaims claims = provider.parseToken(token);
+
+        assertEquals("player@test.com", claims.subject());
+        assertTrue(provider.validateToken(claims, user));
+        assertSame(claims, provider.parseToken(token));
+        assertFalse(provider.validateToken(claims,
+                User.withUsername("other@test.com").password("x").authorities("ROLE_USER").build()));
+    }
+
+    @Test
+    void tamperedTokenIsRejectedEvenAfterOriginalWasCached() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000L, 120_000L, 16);
+        String token = provider.generateAccessToken(user);
+        provider.parseToken(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> provider.parseToken(tampered));
+    }
+
+    @Test
+    void expiredTokenIsRejected() throws InterruptedException {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 1_000L, 120_000L, 16);
+        String token = provider.generateAccessToken(user);
+        provider.parseToken(token);
+
+        Thread.sleep(1_100);
+
+        assertThrows(ExpiredJwtException.class, () -> provider.parseToken(token));
+    }
+}
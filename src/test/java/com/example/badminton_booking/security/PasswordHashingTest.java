@@ -0,0 +1,105 @@
+package com.example.badminton_booking.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingTest {
+
+    @Test
+    void onlyCheaperHashesNeedUpgradingUnlessDowngradesAreAllowed() {
+        String hash = new BCryptPasswordEncoder(5).encode("secret");
+
+        assertFalse(new AdaptiveBCryptPasswordEncoder(5).upgradeEncoding(hash));
+        assertTrue(new AdaptiveBCryptPasswordEncoder(6).upgradeEncoding(hash));
+        // A node configured lower must not rewrite what a stronger node stored
+        assertFalse(new AdaptiveBCryptPasswordEncoder(4).upgradeEncoding(hash));
+        assertTrue(new AdaptiveBCryptPasswordEncoder(4, true).upgradeEncoding(hash));
+        assertTrue(new AdaptiveBCryptPasswordEncoder(4).matches("secret", hash));
+        assertTrue(new AdaptiveBCryptPasswordEncoder(4).upgradeEncoding("plain"));
+        assertEquals(-1, AdaptiveBCryptPasswordEncoder.strengthOf("plain"));
+    }
+
+    @Test
+    void calibrationStaysWithinBounds() {
+        assertEquals(6, AdaptiveBCryptPasswordEncoder.calibrate(Duration.ofNanos(1), 6, 12));
+        assertEquals(7, AdaptiveBCryptPasswordEncoder.calibrate(Duration.ofMinutes(1), 4, 7));
+    }
+
+    @Test
+    void saturatedPoolRefusesInsteadOfQueueingForever() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slow, 1, 1, Duration.ofSeconds(10), meterRegistry);
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            // One hash running, one queued
+            Future<String> running = callers.submit(() -> encoder.encode("a"));
+            Future<String> queued = callers.submit(() -> encoder.encode("b"));
+            while (meterRegistry.get("executor.queued").tag("name", "passwordHashing").gauge().value() < 1) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+
+            assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("c"));
+            assertEquals(1, meterRegistry.get("password.hashing.rejected").counter().count());
+
+            release.countDown();
+            assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+            assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void callersGiveUpAfterTheWaitTimeout() {
+        PasswordEncoder stuck = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(stuck, 1, 4, Duration.ofMillis(100), new SimpleMeterRegistry());
+        try {
+            assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("a"));
+        } finally {
+            encoder.destroy();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.badminton_booking.security;
+
+import com.example.badminton_booking.event.RoleChangedEvent;
+import com.example.badminton_booking.event.UserChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserPrincipalCacheTest {
+
+    private final UserPrincipalCache cache = new UserPrincipalCache(300, 100);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, UserDetails> loader = email -> {
+        loads.incrementAndGet();
+        return new AuthenticatedUser(UUID.randomUUID(), email, "hash",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    };
+
+    @Test
+    void repeatedLookupsHitTheCache() {
+        UserDetails first = cache.get("a@test.com", loader);
+        UserDetails second = cache.get("a@test.com", loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void userChangeEvictsOnlyThatUser() {
+        cache.get("a@test.com", loader);
+        cache.get("b@test.com", loader);
+
+        cache.onUserChanged(new UserChangedEvent(UUID.randomUUID(), "a@test.com", "USER", "A", null));
+        cache.get("a@test.com", loader);
+        cache.get("b@test.com", loader);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void roleChangeEvictsEveryone() {
+        cache.get("a@test.com", loader);
+        cache.get("b@test.com", loader);
+
+        cache.onRoleChanged(new RoleChangedEvent(1));
+        cache.get("a@test.com", loader);
+        cache.get("b@test.com", loader);
+
+        assertEquals(4, loads.get());
+    }
+}
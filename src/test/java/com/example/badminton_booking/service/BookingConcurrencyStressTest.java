@@ -0,0 +1,153 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.dto.BookingRequest;
+import com.example.badminton_booking.dto.BookingResponse;
+import com.example.badminton_booking.dto.BookingSlot;
+import com.example.badminton_booking.repository.BookingRepository;
+import com.example.badminton_booking.lock.BookingLockManager;
+import com.example.badminton_booking.repository.CourtRepository;
+import com.example.badminton_booking.repository.UserRepository;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import com.example.badminton_booking.support.TestBookings;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.badminton_booking.support.TestBookings.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+@H2IntegrationTest
+class BookingConcurrencyStressTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 25;
+    private static final String CONFLICT = "Khung giờ này đã có người đặt. Vui lòng chọn khung giờ khác.";
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingLockManager bookingLockManager;
+
+    @Autowired
+    private TestBookings testBookings;
+
+    @Value("${admin.email}")
+    private String adminEmail;
+
+    @Test
+    void concurrentBookingsForSameCourtAndDayNeverOverlap() throws Exception {
+        UUID playerId = testBookings.createPlayer().getId();
+        Integer courtId = courtRepository.findByIsActiveTrue().get(0).getId();
+        LocalDate date = LocalDate.now().plusDays(3);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(t);
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        bookingService.createBooking(playerId, randomRequest(random, courtId, date));
+                        accepted.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        assertEquals(CONFLICT, e.getMessage());
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        List<BookingSlot> booked = bookingRepository.findActiveSlotsByCourtAndDate(courtId, date);
+        assertTrue(accepted.get() > 0);
+        assertEquals(accepted.get(), booked.size());
+        for (int i = 0; i < booked.size(); i++) {
+            for (int j = i + 1; j < booked.size(); j++) {
+                BookingSlot a = booked.get(i);
+                BookingSlot b = booked.get(j);
+                assertFalse(a.startTime().isBefore(b.endTime()) && a.endTime().isAfter(b.startTime()),
+                        "Overlapping bookings " + a + " and " + b);
+            }
+        }
+    }
+
+    @Test
+    void approvalsAndRejectionsWaitForTheCourtDayLock() throws Exception {
+        UUID adminId = userRepository.findByEmail(adminEmail).orElseThrow().getId();
+        UUID playerId = testBookings.createPlayer().getId();
+        Integer courtId = courtRepository.findByIsActiveTrue().get(0).getId();
+        LocalDate date = LocalDate.now().plusWeeks(74);
+        BookingResponse booking = bookingService.createBooking(playerId, request(courtId, date, 8));
+
+        // A createBooking for the same court and day is in progress
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                bookingLockManager.withLock(courtId, date, () -> {
+                    held.countDown();
+                    await(release);
+                    return null;
+                }));
+        held.await();
+
+        CompletableFuture<BookingResponse> approval = CompletableFuture.supplyAsync(
+                () -> bookingService.approveBooking(booking.getId(), adminId));
+        Thread.sleep(300);
+        assertFalse(approval.isDone());
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertEquals("APPROVED", approval.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals("REJECTED", bookingService.rejectBooking(booking.getId(), adminId).getStatus());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private BookingRequest randomRequest(Random random, Integer courtId, LocalDate date) {
+        // Mostly slot-aligned starts, with some odd minutes to exercise the exact-interval fallback
+        int startMinute = 6 * 60 + random.nextInt(15 * 12) * 5 + (random.nextInt(4) == 0 ? random.nextInt(5) : 0);
+        int endMinute = Math.min(22 * 60, startMinute + 30 + random.nextInt(4) * 30);
+
+        return request(courtId, date, LocalTime.of(startMinute / 60, startMinute % 60),
+                LocalTime.of(endMinute / 60, endMinute % 60));
+    }
+}
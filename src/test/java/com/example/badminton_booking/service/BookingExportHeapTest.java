@@ -0,0 +1,130 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.repository.CourtRepository;
+import com.example.badminton_booking.repository.UserRepository;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import com.example.badminton_booking.support.TestBookings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exports 150,000 rows and checks the heap does not grow with them. Seeding and the forced GCs
+ * take tens of seconds, so this runs with the benchmarks: {@code mvn test -Pbenchmark -Dtest=BookingExportHeapTest}.
+ */
+@Tag("benchmark")
+@H2IntegrationTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingExportHeapTest {
+
+    private static final int ROWS = 150_000;
+    private static final int SAMPLE_EVERY = 25_000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2001, 1, 1);
+
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private TestBookings testBookings;
+
+    private UUID userId;
+    private LocalDate lastDay;
+
+    @BeforeAll
+    void seed() {
+        userId = userRepository.save(testBookings.newPlayer()).getId();
+        Integer courtId = courtRepository.findByIsActiveTrue().get(0).getId();
+
+        // Old, rejected bookings so no other test sees them
+        List<Object[]> rows = new ArrayList<>();
+        LocalDateTime created = LocalDateTime.of(2001, 1, 1, 0, 0);
+        for (int i = 0; i < ROWS; i++) {
+            LocalDate day = FIRST_DAY.plusDays(i / 16);
+            LocalTime start = LocalTime.of(6 + i % 16, 0);
+            rows.add(new Object[]{UUID.randomUUID(), userId, courtId, Date.valueOf(day), Time.valueOf(start),
+                    Time.valueOf(start.plusHours(1)), "REJECTED", null,
+                    Timestamp.valueOf(created.plusSeconds(i))});
+            lastDay = day;
+            if (rows.size() == 5_000) {
+                insert(rows);
+                rows.clear();
+            }
+        }
+        insert(rows);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    void ndjsonExportKeepsHeapFlat() throws Exception {
+        HeapSamplingStream out = new HeapSamplingStream();
+
+        long written = bookingExportService.export(FIRST_DAY, lastDay, BookingExportService.Format.NDJSON, out);
+
+        assertEquals(ROWS, written);
+        assertEquals(ROWS, out.lines);
+        LongSummaryStatistics heap = out.samples.stream().mapToLong(Long::longValue).summaryStatistics();
+        assertTrue(heap.getCount() >= ROWS / SAMPLE_EVERY - 1);
+        // Holding the rows would grow the heap by well over 100 MB between the first and last sample
+        long growth = heap.getMax() - heap.getMin();
+        assertTrue(growth < 32 * 1024 * 1024, "Heap grew by " + growth / (1024 * 1024) + " MB during export");
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, user_id, court_id, booking_date, start_time, end_time, " +
+                "status, note, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    // Discards output, counting rows and recording live heap after a GC every SAMPLE_EVERY rows
+    private static final class HeapSamplingStream extends OutputStream {
+        private final List<Long> samples = new ArrayList<>();
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines % SAMPLE_EVERY == 0) {
+                System.gc();
+                Runtime runtime = Runtime.getRuntime();
+                samples.add(runtime.totalMemory() - runtime.freeMemory());
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(bytes[i]);
+            }
+        }
+    }
+}
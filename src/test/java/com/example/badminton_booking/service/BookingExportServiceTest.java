@@ -0,0 +1,119 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.CourtRepository;
+import com.example.badminton_booking.repository.UserRepository;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import com.example.badminton_booking.support.TestBookings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@H2IntegrationTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingExportServiceTest {
+
+    // Two days of 16 one-hour bookings; the heap under a large export is BookingExportHeapTest's job
+    private static final int ROWS = 32;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2001, 1, 1);
+
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private TestBookings testBookings;
+
+    private UUID userId;
+
+    @BeforeAll
+    void seed() {
+        User user = testBookings.newPlayer();
+        user.setFullName("Export, \"Finance\" Player");
+        userId = userRepository.save(user).getId();
+        Integer courtId = courtRepository.findByIsActiveTrue().get(0).getId();
+
+        // Old, rejected bookings so no other test sees them
+        List<Object[]> rows = new ArrayList<>();
+        LocalDateTime created = LocalDateTime.of(2001, 1, 1, 0, 0);
+        for (int i = 0; i < ROWS; i++) {
+            LocalDate day = FIRST_DAY.plusDays(i / 16);
+            LocalTime start = LocalTime.of(6 + i % 16, 0);
+            rows.add(new Object[]{UUID.randomUUID(), userId, courtId, Date.valueOf(day), Time.valueOf(start),
+                    Time.valueOf(start.plusHours(1)), "REJECTED", note(i),
+                    Timestamp.valueOf(created.plusSeconds(i))});
+        }
+        insert(rows);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    void csvExportEscapesFieldsAndHonoursDateRange() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = bookingExportService.export(FIRST_DAY, FIRST_DAY, BookingExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(16, written);
+        assertEquals(17, lines.length);
+        assertTrue(lines[0].startsWith("id,userId,userFullName"));
+        assertTrue(lines[1].contains(",\"Export, \"\"Finance\"\" Player\","));
+        assertTrue(lines[1].contains(",\"note, with comma\","));
+        assertTrue(lines[2].contains(",REJECTED,,"));
+    }
+
+    @Test
+    void csvExportDefusesSpreadsheetFormulas() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        bookingExportService.export(FIRST_DAY, FIRST_DAY, BookingExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertTrue(lines[4].contains(",\"'=HYPERLINK(\"\"http://evil.example\"\",\"\"Bấm vào đây\"\")\","), lines[4]);
+        assertTrue(lines[5].contains(",'@SUM(1+1)*cmd|' /C calc'!A0,"), lines[5]);
+    }
+
+    private static String note(int i) {
+        return switch (i % 16) {
+            case 0 -> "note, with comma";
+            case 3 -> "=HYPERLINK(\"http://evil.example\",\"Bấm vào đây\")";
+            case 4 -> "@SUM(1+1)*cmd|' /C calc'!A0";
+            default -> null;
+        };
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, user_id, court_id, booking_date, start_time, end_time, " +
+                "status, note, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.cache.WeeklyCalendarCache;
+import com.example.badminton_booking.dto.BookingResponse;
+import com.example.badminton_booking.dto.BulkBookingResult;
+import com.example.badminton_booking.dto.CursorPage;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.CourtRepository;
+import com.example.badminton_booking.repository.UserRepository;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import com.example.badminton_booking.support.TestBookings;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static com.example.badminton_booking.support.TestBookings.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Listing endpoints must not lazy-load per row: each is allowed a fixed number of statements
+ * no matter how many bookings, users and approvers it returns.
+ */
+// Statistics are global, so the outbox dispatcher is kept idle to not add its own queries
+@H2IntegrationTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "mail.outbox.concurrency=0"
+})
+class BookingQueryCountTest {
+
+    private static final int BOOKINGS = 12;
+    private static final long STATEMENT_BUDGET = 1;
+    private static final long BULK_STATEMENT_BUDGET = 10;
+
+    private static int weekOffset = 40;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private WeeklyCalendarCache weeklyCalendarCache;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestBookings testBookings;
+
+    @Value("${admin.email}")
+    private String adminEmail;
+
+    private Statistics statistics;
+    private LocalDate monday;
+    private UUID lastPlayerId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        UUID adminId = userRepository.findByEmail(adminEmail).orElseThrow().getId();
+        Integer courtId = courtRepository.findByIsActiveTrue().get(0).getId();
+        monday = LocalDate.now().plusWeeks(weekOffset++).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        // Distinct players so a lazy-loading implementation would need one select per row
+        for (int i = 0; i < BOOKINGS; i++) {
+            User player = testBookings.createPlayer();
+            lastPlayerId = player.getId();
+            BookingResponse booking = bookingService.createBooking(player.getId(),
+                    request(courtId, monday.plusDays(i % 7), 6 + i));
+            if (i % 2 == 0) {
+                bookingService.approveBooking(booking.getId(), adminId);
+            }
+        }
+    }
+
+    @Test
+    void weeklyCalendarIsOneStatement() {
+        weeklyCalendarCache.invalidate(monday);
+        List<BookingResponse> bookings = countStatements(() -> bookingService.getWeeklyBookings(monday, monday.plusDays(6)));
+
+        assertEquals(BOOKINGS / 2, bookings.size());
+        assertTrue(bookings.stream().allMatch(b -> b.getUserFullName() != null && b.getApprovedByName() != null));
+    }
+
+    @Test
+    void pendingBookingsIsOneStatement() {
+        List<BookingResponse> bookings = countStatements(
+                () -> bookingService.getPendingBookingsPage(null, CursorPage.MAX_SIZE).getItems());
+
+        assertTrue(bookings.size() >= BOOKINGS / 2);
+        assertTrue(bookings.stream().allMatch(b -> b.getCourtName() != null && b.getUserEmail() != null));
+    }
+
+    @Test
+    void userBookingsIsOneStatement() {
+        List<BookingResponse> bookings = countStatements(
+                () -> bookingService.getUserBookingsPage(lastPlayerId, null, CursorPage.MAX_SIZE).getItems());
+
+        assertEquals(1, bookings.size());
+    }
+
+    @Test
+    void bulkApprovalStatementsDoNotGrowWithTheBatch() {
+        UUID adminId = userRepository.findByEmail(adminEmail).orElseThrow().getId();
+        List<UUID> pending = allPending().stream()
+                .filter(b -> !b.getBookingDate().isBefore(monday) && !b.getBookingDate().isAfter(monday.plusDays(6)))
+                .map(BookingResponse::getId)
+                .toList();
+
+        statistics.clear();
+        BulkBookingResult result = bookingService.bulkApprove(pending, adminId);
+
+        assertEquals(BOOKINGS / 2, result.getSucceeded());
+        // Lookups plus one batch each for updates, notifications and outbox rows, not a round of each per booking
+        assertTrue(statistics.getPrepareStatementCount() <= BULK_STATEMENT_BUDGET,
+                "Expected at most " + BULK_STATEMENT_BUDGET + " statements but got " + statistics.getPrepareStatementCount());
+    }
+
+    private List<BookingResponse> allPending() {
+        List<BookingResponse> pending = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<BookingResponse> page = bookingService.getPendingBookingsPage(cursor, CursorPage.MAX_SIZE);
+            pending.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return pending;
+    }
+
+    private <T> T countStatements(Supplier<T> listing) {
+        statistics.clear();
+        T result = listing.get();
+        assertTrue(statistics.getPrepareStatementCount() <= STATEMENT_BUDGET,
+                "Expected at most " + STATEMENT_BUDGET + " statements but got " + statistics.getPrepareStatementCount());
+        return result;
+    }
+}
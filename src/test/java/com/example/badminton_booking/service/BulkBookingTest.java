@@ -0,0 +1,113 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.dto.BookingResponse;
+import com.example.badminton_booking.dto.BulkBookingResult;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.BookingRepository;
+import com.example.badminton_booking.repository.CourtRepository;
+import com.example.badminton_booking.repository.NotificationRepository;
+import com.example.badminton_booking.repository.UserRepository;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import com.example.badminton_booking.support.TestBookings;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.badminton_booking.support.TestBookings.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+@H2IntegrationTest
+class BulkBookingTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestBookings testBookings;
+
+    @Value("${admin.email}")
+    private String adminEmail;
+
+    @Test
+    void approveReportsAnOutcomePerRequestedBooking() {
+        UUID adminId = userRepository.findByEmail(adminEmail).orElseThrow().getId();
+        User player = testBookings.createPlayer();
+        Integer courtId = courtRepository.findByIsActiveTrue().get(0).getId();
+        LocalDate day = LocalDate.now().plusWeeks(62);
+        UUID first = bookingService.createBooking(player.getId(), request(courtId, day, 6, 7)).getId();
+        UUID second = bookingService.createBooking(player.getId(), request(courtId, day, 7, 8)).getId();
+        UUID approved = bookingService.createBooking(player.getId(), request(courtId, day, 9, 10)).getId();
+        bookingService.approveBooking(approved, adminId);
+        UUID missing = UUID.randomUUID();
+
+        BulkBookingResult result = bookingService.bulkApprove(List.of(first, missing, second, approved, first), adminId);
+
+        assertEquals(List.of(first, missing, second, approved),
+                result.getItems().stream().map(BulkBookingResult.Item::getBookingId).toList());
+        assertEquals(3, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        assertEquals("Booking không tồn tại", result.getItems().get(1).getMessage());
+        assertEquals("Booking đã ở trạng thái APPROVED", result.getItems().get(3).getMessage());
+        assertEquals("APPROVED", bookingRepository.findById(first).orElseThrow().getStatus());
+        assertEquals("APPROVED", bookingRepository.findById(second).orElseThrow().getStatus());
+        // One notification per booking that actually changed, plus the single approval above
+        assertEquals(3, notificationRepository.findByReceiverIdOrderByCreatedAtDesc(player.getId()).size());
+    }
+
+    @Test
+    void reapprovalLosesToThePendingBookingThatTookItsSlot() {
+        UUID adminId = userRepository.findByEmail(adminEmail).orElseThrow().getId();
+        User player = testBookings.createPlayer();
+        Integer courtId = courtRepository.findByIsActiveTrue().get(0).getId();
+        LocalDate day = LocalDate.now().plusWeeks(63);
+        UUID rejected = bookingService.createBooking(player.getId(), request(courtId, day, 8, 10)).getId();
+        bookingService.rejectBooking(rejected, adminId);
+        UUID pending = bookingService.createBooking(player.getId(), request(courtId, day, 9, 11)).getId();
+        UUID elsewhere = bookingService.createBooking(player.getId(), request(courtId, day, 14, 15)).getId();
+
+        BulkBookingResult result = bookingService.bulkApprove(List.of(rejected, pending, elsewhere), adminId);
+
+        BulkBookingResult.Item lost = result.getItems().get(0);
+        assertFalse(lost.isSuccess());
+        assertEquals("REJECTED", lost.getStatus());
+        assertEquals("Khung giờ này trùng với booking khác", lost.getMessage());
+        assertTrue(result.getItems().get(1).isSuccess());
+        assertTrue(result.getItems().get(2).isSuccess());
+        assertEquals("REJECTED", bookingRepository.findById(rejected).orElseThrow().getStatus());
+
+        result = bookingService.bulkReject(List.of(pending, elsewhere), adminId);
+
+        assertEquals(2, result.getSucceeded());
+        assertEquals("REJECTED", bookingRepository.findById(elsewhere).orElseThrow().getStatus());
+        // Rejecting freed the slot for new requests
+        BookingResponse rebooked = bookingService.createBooking(player.getId(), request(courtId, day, 9, 11));
+        assertEquals("PENDING", rebooked.getStatus());
+    }
+
+    @Test
+    void onlyAdminsMayDecideInBulk() {
+        User player = testBookings.createPlayer();
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> bookingService.bulkReject(List.of(UUID.randomUUID()), player.getId()));
+        assertEquals("Bạn không có quyền thực hiện hành động này", e.getMessage());
+        e = assertThrows(RuntimeException.class, () -> bookingService.bulkApprove(List.of(), player.getId()));
+        assertEquals("Danh sách booking không được để trống", e.getMessage());
+    }
+}
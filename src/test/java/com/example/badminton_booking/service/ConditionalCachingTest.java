@@ -0,0 +1,200 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.dto.BookingResponse;
+import com.example.badminton_booking.entity.Court;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.CourtRepository;
+import com.example.badminton_booking.repository.UserRepository;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import com.example.badminton_booking.support.TestBookings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.badminton_booking.support.TestBookings.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clients that revalidate with If-None-Match get 304s for unchanged courts and weeks, those 304s
+ * cost no SQL, and a change is visible on the very next request.
+ */
+// The outbox dispatcher and revocation reload are kept idle so the statement count is ours alone
+@H2IntegrationTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "mail.outbox.concurrency=0",
+        "jwt.refresh-tokens.revocation-refresh-ms=3600000"
+})
+class ConditionalCachingTest {
+
+    private static final int READERS = 8;
+    private static final int READS_PER_READER = 50;
+    private static final int WRITES = 4;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private TestBookings testBookings;
+
+    @Value("${admin.email}")
+    private String adminEmail;
+
+    @Value("${admin.password}")
+    private String adminPassword;
+
+    private HttpClient client;
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        client = HttpClient.newHttpClient();
+        token = login();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdownNow();
+    }
+
+    @Test
+    void courtCatalogIsRevalidatedWithoutQueries() throws Exception {
+        HttpResponse<String> first = get("/api/courts/list", null);
+        assertEquals(200, first.statusCode());
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+        assertEquals("no-cache", first.headers().firstValue("Cache-Control").orElseThrow());
+
+        long statements = statementCount();
+        for (int i = 0; i < 20; i++) {
+            HttpResponse<String> revalidated = get("/api/courts/list", etag);
+            assertEquals(304, revalidated.statusCode());
+            assertEquals(etag, revalidated.headers().firstValue("ETag").orElseThrow());
+        }
+        assertEquals(statements, statementCount());
+
+        Court court = courtRepository.findByIsActiveTrue().get(0);
+        court.setDescription("Sân tiêu chuẩn thi đấu - " + UUID.randomUUID());
+        courtRepository.save(court);
+
+        HttpResponse<String> changed = get("/api/courts/list", etag);
+        assertEquals(200, changed.statusCode());
+        assertNotEquals(etag, changed.headers().firstValue("ETag").orElseThrow());
+        assertTrue(changed.body().contains(court.getDescription()));
+    }
+
+    @Test
+    void readHeavyCalendarTrafficIsMostlyNotModified() throws Exception {
+        UUID adminId = userRepository.findByEmail(adminEmail).orElseThrow().getId();
+        User player = testBookings.createPlayer();
+        Integer courtId = courtRepository.findByIsActiveTrue().get(0).getId();
+        LocalDate monday = LocalDate.now().plusWeeks(68).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        String path = "/api/bookings/court/" + courtId + "/weekly?startDate=" + monday + "&endDate=" + monday.plusDays(6);
+
+        AtomicInteger notModified = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+        List<Future<?>> readers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int r = 0; r < READERS; r++) {
+                readers.add(executor.submit(() -> {
+                    // Each reader behaves like a browser: keeps the last ETag and revalidates
+                    String etag = null;
+                    for (int i = 0; i < READS_PER_READER; i++) {
+                        HttpResponse<String> response = get(path, etag);
+                        if (response.statusCode() == 304) {
+                            notModified.incrementAndGet();
+                        } else {
+                            assertEquals(200, response.statusCode());
+                            full.incrementAndGet();
+                            etag = response.headers().firstValue("ETag").orElseThrow();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            // A few approvals land while the readers are running
+            for (int w = 0; w < WRITES; w++) {
+                BookingResponse booking = bookingService.createBooking(player.getId(), request(courtId, monday.plusDays(w), 8));
+                bookingService.approveBooking(booking.getId(), adminId);
+            }
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        }
+
+        int total = READERS * READS_PER_READER;
+        double notModifiedRate = (double) notModified.get() / total;
+        System.out.printf("Weekly calendar: %d requests, %d not modified (%.1f%%), %d full%n",
+                total, notModified.get(), notModifiedRate * 100, full.get());
+        assertEquals(total, notModified.get() + full.get());
+        // At most one full response per reader per version of the week
+        assertTrue(full.get() <= READERS * (WRITES + 1), "full responses: " + full.get());
+
+        // Every approval is visible on the next revalidation
+        HttpResponse<String> latest = get(path, null);
+        assertEquals(WRITES, jsonMapper.readTree(latest.body()).size());
+        String etag = latest.headers().firstValue("ETag").orElseThrow();
+        assertTrue(latest.headers().firstValue("Cache-Control").orElseThrow().contains("private"));
+
+        long statements = statementCount();
+        assertEquals(304, get(path, etag).statusCode());
+        assertEquals(statements, statementCount());
+    }
+
+    private long statementCount() {
+        return meterRegistry.find("db.query").timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    private HttpResponse<String> get(String path, String etag) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .GET();
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String login() throws Exception {
+        String body = String.format("{\"email\":\"%s\",\"password\":\"%s\"}", adminEmail, adminPassword);
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        return jsonMapper.readTree(response.body()).get("accessToken").asString();
+    }
+}
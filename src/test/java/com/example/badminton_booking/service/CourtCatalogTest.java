@@ -0,0 +1,103 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.cache.CourtCatalog;
+import com.example.badminton_booking.dto.BookingResponse;
+import com.example.badminton_booking.entity.Court;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.BookingRepository;
+import com.example.badminton_booking.repository.CourtRepository;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import com.example.badminton_booking.support.TestBookings;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+
+import static com.example.badminton_booking.support.TestBookings.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Statistics are global, so the outbox dispatcher is kept idle to not add its own queries
+@H2IntegrationTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "mail.outbox.concurrency=0"
+})
+class CourtCatalogTest {
+
+    @Autowired
+    private CourtService courtService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CourtCatalog courtCatalog;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestBookings testBookings;
+
+    @Test
+    void courtReadsAndBookingValidationNeverLoadCourts() {
+        User player = testBookings.createPlayer();
+        LocalDate monday = LocalDate.now().plusWeeks(69).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Court court = courtService.getActiveCourts().get(0);
+        assertSame(court, courtService.getCourtById(court.getId()));
+        BookingResponse booking = bookingService.createBooking(player.getId(), request(court.getId(), monday, 8, 9));
+        assertThrows(RuntimeException.class,
+                () -> bookingService.createBooking(player.getId(), request(court.getId(), monday, 5, 6)));
+
+        EntityStatistics courts = statistics.getEntityStatistics(Court.class.getName());
+        assertEquals(0, courts.getLoadCount() + courts.getFetchCount());
+        assertEquals(court.getName(), booking.getCourtName());
+        assertEquals(court.getId(), bookingRepository.findById(booking.getId()).orElseThrow().getCourt().getId());
+    }
+
+    @Test
+    void savingACourtSwapsInANewSnapshot() {
+        CourtCatalog.Snapshot before = courtCatalog.snapshot();
+        Court court = courtRepository.findById(before.active().get(0).getId()).orElseThrow();
+        LocalTime closeTime = court.getCloseTime();
+        String version = courtService.getCatalogVersion();
+        User player = testBookings.createPlayer();
+        LocalDate day = LocalDate.now().plusWeeks(69).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).plusDays(1);
+
+        try {
+            court.setCloseTime(closeTime.minusHours(1));
+            courtRepository.save(court);
+
+            CourtCatalog.Snapshot after = courtCatalog.snapshot();
+            assertNotSame(before, after);
+            assertEquals(closeTime, before.find(court.getId()).orElseThrow().getCloseTime());
+            assertEquals(closeTime.minusHours(1), after.find(court.getId()).orElseThrow().getCloseTime());
+            assertNotEquals(version, courtService.getCatalogVersion());
+
+            // The new opening hours apply to the very next booking
+            int lastHour = closeTime.getHour() - 1;
+            RuntimeException error = assertThrows(RuntimeException.class, () -> bookingService.createBooking(
+                    player.getId(), request(court.getId(), day, lastHour, lastHour + 1)));
+            assertTrue(error.getMessage().contains(closeTime.minusHours(1).toString()), error.getMessage());
+        } finally {
+            court.setCloseTime(closeTime);
+            courtRepository.save(court);
+        }
+        assertEquals(closeTime, courtService.getCourtById(court.getId()).getCloseTime());
+    }
+}
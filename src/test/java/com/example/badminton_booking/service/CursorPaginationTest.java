@@ -0,0 +1,159 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.controller.BookingController;
+import com.example.badminton_booking.dto.BookingResponse;
+import com.example.badminton_booking.dto.CursorPage;
+import com.example.badminton_booking.dto.NotificationResponse;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.CourtRepository;
+import com.example.badminton_booking.repository.UserRepository;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import com.example.badminton_booking.support.TestBookings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static com.example.badminton_booking.support.TestBookings.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+@H2IntegrationTest
+class CursorPaginationTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingController bookingController;
+
+    @Autowired
+    private TestBookings testBookings;
+
+    @Value("${admin.email}")
+    private String adminEmail;
+
+    @Test
+    void userBookingsWalkEveryRowOnceNewestFirst() {
+        User player = testBookings.createPlayer();
+        Integer courtId = courtRepository.findByIsActiveTrue().get(0).getId();
+        LocalDate day = LocalDate.now().plusWeeks(60);
+        for (int i = 0; i < 23; i++) {
+            bookingService.createBooking(player.getId(), request(courtId, day.plusDays(i / 10), 6 + i % 10));
+        }
+        // Several rows share a timestamp so the id tie-breaker is exercised
+        jdbcTemplate.update("UPDATE bookings SET created_at = ? WHERE user_id = ? AND start_time < ?",
+                Timestamp.valueOf(LocalDateTime.of(2026, 3, 1, 9, 0)), player.getId(), LocalTime.of(10, 0));
+
+        List<BookingResponse> walked = walk(cursor -> bookingService.getUserBookingsPage(player.getId(), cursor, 5));
+
+        assertEquals(23, walked.size());
+        assertEquals(23, new HashSet<>(walked.stream().map(BookingResponse::getId).toList()).size());
+        for (int i = 1; i < walked.size(); i++) {
+            assertFalse(walked.get(i).getCreatedAt().isAfter(walked.get(i - 1).getCreatedAt()));
+        }
+    }
+
+    @Test
+    void unreadNotificationsPageThroughWhatTheAdminHasNotRead() {
+        UUID adminId = userRepository.findByEmail(adminEmail).orElseThrow().getId();
+        User player = testBookings.createPlayer();
+        Integer courtId = courtRepository.findByIsActiveTrue().get(0).getId();
+        LocalDate day = LocalDate.now().plusWeeks(61);
+        Set<UUID> bookingIds = new HashSet<>();
+        for (int i = 0; i < 7; i++) {
+            bookingIds.add(bookingService.createBooking(player.getId(), request(courtId, day, 6 + i)).getId());
+        }
+
+        List<NotificationResponse> walked = walk(cursor -> notificationService.getUnreadNotificationsPage(adminId, cursor, 3));
+
+        assertTrue(walked.stream().map(NotificationResponse::getBookingId).toList().containsAll(bookingIds));
+        assertEquals(walked.size(), new HashSet<>(walked.stream().map(NotificationResponse::getId).toList()).size());
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void legacyListSaysWhenItWasCutShort() {
+        User player = testBookings.createPlayer();
+        Integer courtId = courtRepository.findByIsActiveTrue().get(0).getId();
+        // Old rejected history, more than one capped page of it
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < CursorPage.MAX_SIZE + 5; i++) {
+            LocalTime start = LocalTime.of(6 + i % 16, 0);
+            rows.add(new Object[]{UUID.randomUUID(), player.getId(), courtId, Date.valueOf(LocalDate.of(2003, 1, 1).plusDays(i / 16)),
+                    Time.valueOf(start), Time.valueOf(start.plusHours(1)), "REJECTED", Timestamp.valueOf(LocalDateTime.of(2003, 1, 1, 0, 0).plusMinutes(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, user_id, court_id, booking_date, start_time, end_time, " +
+                "status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(player.getEmail(), null, List.of()));
+
+        ResponseEntity<?> response = bookingController.getMyBookings();
+
+        assertEquals(CursorPage.MAX_SIZE, ((List<?>) response.getBody()).size());
+        String cursor = response.getHeaders().getFirst("X-Next-Cursor");
+        assertNotNull(cursor);
+        assertEquals("</api/bookings/my-bookings/page?cursor=" + cursor + ">; rel=\"next\"",
+                response.getHeaders().getFirst(HttpHeaders.LINK));
+        assertEquals(5, bookingService.getUserBookingsPage(player.getId(), cursor, CursorPage.MAX_SIZE).getItems().size());
+
+        // A list that fits has no such headers
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(testBookings.createPlayer().getEmail(), null, List.of()));
+        assertNull(bookingController.getMyBookings().getHeaders().getFirst("X-Next-Cursor"));
+    }
+
+    @Test
+    void pageSizeIsCappedAndBadCursorsAreRejected() {
+        User player = testBookings.createPlayer();
+
+        assertNull(bookingService.getUserBookingsPage(player.getId(), null, 10_000).getNextCursor());
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> bookingService.getUserBookingsPage(player.getId(), "not-a-cursor", 10));
+        assertEquals("Cursor không hợp lệ", e.getMessage());
+    }
+
+    private static <T> List<T> walk(Function<String, CursorPage<T>> fetch) {
+        List<T> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<T> page = fetch.apply(cursor);
+            all.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return all;
+    }
+}
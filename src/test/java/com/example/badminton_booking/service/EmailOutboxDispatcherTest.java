@@ -0,0 +1,124 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.entity.Booking;
+import com.example.badminton_booking.entity.Court;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.OutboxMessageRepository;
+import com.example.badminton_booking.support.FakeMailSender;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "mail.outbox.initial-backoff-ms=50",
+        "mail.outbox.poll-interval-ms=100"
+})
+@ActiveProfiles("h2")
+class EmailOutboxDispatcherTest {
+
+    private static final int MESSAGES = 1000;
+
+    @TestConfiguration
+    static class MailConfig {
+        @Bean
+        FakeMailSender fakeMailSender() {
+            // 20ms SMTP handshake per connection, 1ms per message
+            return new FakeMailSender(20, 1);
+        }
+    }
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private FakeMailSender mailSender;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void queuedEmailsAreDeliveredInBatchesAfterCommit() {
+        Booking booking = sampleBooking();
+        int deliveredBefore = mailSender.getDelivered().size();
+        int connectionsBefore = mailSender.getConnections();
+
+        long started = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < MESSAGES; i++) {
+                emailService.queueBookingNotification("admin" + i + "@test.com", booking);
+            }
+            // Nothing leaves before commit: the request path only writes outbox rows
+            assertEquals(deliveredBefore, mailSender.getDelivered().size());
+        });
+        long queuedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        waitUntil(() -> mailSender.getDelivered().size() >= deliveredBefore + MESSAGES, Duration.ofSeconds(30));
+        long totalMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        int connections = mailSender.getConnections() - connectionsBefore;
+        System.out.printf("Outbox: queued %d emails in %d ms, delivered in %d ms (%.0f msg/s) over %d SMTP connections%n",
+                MESSAGES, queuedMillis, totalMillis, MESSAGES * 1000.0 / totalMillis, connections);
+        assertTrue(connections <= MESSAGES / 10, "Expected batched delivery but used " + connections + " connections");
+        waitUntil(() -> outboxMessageRepository.countByStatus("PENDING") == 0, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void failedEmailsAreRetriedWithBackoff() {
+        Booking booking = sampleBooking();
+        mailSender.failOnceFor("flaky@test.com");
+
+        transactionTemplate.executeWithoutResult(status ->
+                emailService.queueBookingConfirmation("flaky@test.com", booking));
+
+        waitUntil(() -> mailSender.getDelivered().stream()
+                .anyMatch(m -> "flaky@test.com".equals(m.getTo()[0])), Duration.ofSeconds(10));
+        waitUntil(() -> outboxMessageRepository.findAll().stream()
+                .anyMatch(m -> "flaky@test.com".equals(m.getRecipient())
+                        && "SENT".equals(m.getStatus()) && m.getAttempts() == 2), Duration.ofSeconds(5));
+    }
+
+    private Booking sampleBooking() {
+        User user = new User();
+        user.setFullName("Nguyễn Văn A");
+        user.setEmail("player@test.com");
+        Court court = new Court();
+        court.setName("Sân cầu lông 1");
+
+        Booking booking = new Booking();
+        booking.setUser(user);
+        booking.setCourt(court);
+        booking.setBookingDate(LocalDate.now().plusDays(1));
+        booking.setStartTime(LocalTime.of(18, 0));
+        booking.setEndTime(LocalTime.of(20, 0));
+        return booking;
+    }
+
+    private static void waitUntil(BooleanSupplier condition, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within " + timeout);
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+}
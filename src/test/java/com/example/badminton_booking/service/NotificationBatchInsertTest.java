@@ -0,0 +1,117 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.entity.Booking;
+import com.example.badminton_booking.entity.Notification;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.BookingRepository;
+import com.example.badminton_booking.repository.CourtRepository;
+import com.example.badminton_booking.repository.NotificationRepository;
+import com.example.badminton_booking.repository.UserRepository;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import com.example.badminton_booking.support.TestBookings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.badminton_booking.support.TestBookings.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Statistics are global, so the outbox dispatcher is kept idle to not add its own queries
+@H2IntegrationTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "mail.outbox.concurrency=0"
+})
+class NotificationBatchInsertTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestBookings testBookings;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @Test
+    void createAllInsertsInJdbcBatchesAndDetachesEachOne() {
+        User receiver = testBookings.createPlayer();
+        Integer courtId = courtRepository.findByIsActiveTrue().get(0).getId();
+        UUID bookingId = bookingService.createBooking(receiver.getId(), request(courtId, LocalDate.now().plusWeeks(73), 8)).getId();
+        // Two full batches and a partial one
+        int rows = batchSize * 2 + 7;
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long batchesBefore = insertBatches();
+        transactionTemplate.executeWithoutResult(status -> {
+            User receiverRef = userRepository.getReferenceById(receiver.getId());
+            Booking bookingRef = bookingRepository.getReferenceById(bookingId);
+            List<Notification> notifications = new ArrayList<>();
+            for (int i = 0; i < rows; i++) {
+                Notification notification = new Notification();
+                notification.setReceiver(receiverRef);
+                notification.setBooking(bookingRef);
+                notification.setTitle("Thông báo " + i);
+                notification.setType("BROADCAST");
+                notifications.add(notification);
+            }
+
+            notificationService.createAll(notifications);
+
+            assertTrue(notifications.stream().allMatch(n -> n.getId() != null));
+            assertTrue(notifications.stream().noneMatch(entityManager::contains));
+        });
+
+        assertEquals(rows, statistics.getEntityInsertCount());
+        // One prepared INSERT and one executeBatch per chunk of batch_size rows
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(3, insertBatches() - batchesBefore);
+        assertEquals(rows, notificationRepository.countByReceiverIdAndIsReadFalse(receiver.getId()));
+    }
+
+    private long insertBatches() {
+        Timer timer = meterRegistry.find("db.query")
+                .tags("repository.method", "NotificationService.createAll", "operation", "insert").timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.CourtRepository;
+import com.example.badminton_booking.repository.UserRepository;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import com.example.badminton_booking.support.TestBookings;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static com.example.badminton_booking.support.TestBookings.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+@H2IntegrationTest
+class NotificationReadStateTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestBookings testBookings;
+
+    @Value("${admin.email}")
+    private String adminEmail;
+
+    @Test
+    void markAllAsReadClearsOnlyTheCallersUnreadCount() {
+        UUID adminId = userRepository.findByEmail(adminEmail).orElseThrow().getId();
+        User first = testBookings.createPlayer();
+        User second = testBookings.createPlayer();
+        Integer courtId = courtRepository.findByIsActiveTrue().get(0).getId();
+        LocalDate day = LocalDate.now().plusWeeks(66);
+        for (int i = 0; i < 3; i++) {
+            bookingService.approveBooking(bookingService.createBooking(first.getId(), request(courtId, day, 6 + i)).getId(), adminId);
+        }
+        bookingService.rejectBooking(bookingService.createBooking(second.getId(), request(courtId, day, 12)).getId(), adminId);
+        notificationService.markAsRead(notificationService.getUnreadNotifications(first.getId()).get(0).getId());
+
+        assertEquals(2, notificationService.countUnread(first.getId()));
+        assertEquals(1, notificationService.countUnread(second.getId()));
+
+        assertEquals(2, notificationService.markAllAsRead(first.getId()));
+
+        assertEquals(0, notificationService.countUnread(first.getId()));
+        assertEquals(3, notificationService.getUserNotifications(first.getId()).size());
+        assertTrue(notificationService.getUserNotifications(first.getId()).stream().allMatch(n -> n.getIsRead()));
+        assertEquals(1, notificationService.countUnread(second.getId()));
+        assertEquals(0, notificationService.markAllAsRead(first.getId()));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.entity.Notification;
+import com.example.badminton_booking.entity.NotificationArchive;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.CourtRepository;
+import com.example.badminton_booking.repository.NotificationArchiveRepository;
+import com.example.badminton_booking.repository.UserRepository;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import com.example.badminton_booking.support.TestBookings;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.badminton_booking.support.TestBookings.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tiny batches so a run needs several transactions
+@H2IntegrationTest(properties = {
+        "notifications.retention.batch-size=2",
+        "notifications.retention.pause-ms=0"
+})
+class NotificationRetentionJobTest {
+
+    @Autowired
+    private NotificationRetentionJob retentionJob;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationArchiveRepository notificationArchiveRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestBookings testBookings;
+
+    @Value("${admin.email}")
+    private String adminEmail;
+
+    @Test
+    void oldReadNotificationsAreArchivedInBatchesAndTheRestStay() {
+        UUID adminId = userRepository.findByEmail(adminEmail).orElseThrow().getId();
+        User player = testBookings.createPlayer();
+        Integer courtId = courtRepository.findByIsActiveTrue().get(0).getId();
+        LocalDate day = LocalDate.now().plusWeeks(67);
+        for (int i = 0; i < 5; i++) {
+            bookingService.approveBooking(bookingService.createBooking(player.getId(), request(courtId, day, 6 + i)).getId(), adminId);
+        }
+        List<Notification> notifications = notificationService.getUserNotifications(player.getId()).stream()
+                .sorted(Comparator.comparing(Notification::getCreatedAt)).toList();
+        // 0-2 old and read, 3 old but unread, 4 read but recent
+        for (int i = 0; i < 5; i++) {
+            if (i != 3) {
+                notificationService.markAsRead(notifications.get(i).getId());
+            }
+            if (i != 4) {
+                jdbcTemplate.update("UPDATE notifications SET created_at = ? WHERE id = ?",
+                        Timestamp.valueOf(LocalDateTime.now().minusDays(200 - i)), notifications.get(i).getId());
+            }
+        }
+
+        long removed = retentionJob.purgeReadBefore(LocalDateTime.now().minusDays(90));
+
+        assertEquals(3, removed);
+        List<UUID> remaining = notificationService.getUserNotifications(player.getId()).stream().map(Notification::getId).toList();
+        assertEquals(List.of(notifications.get(4).getId(), notifications.get(3).getId()), remaining);
+        assertEquals(3, notificationArchiveRepository.countByReceiverId(player.getId()));
+        NotificationArchive archived = notificationArchiveRepository.findById(notifications.get(0).getId()).orElseThrow();
+        assertEquals(notifications.get(0).getContent(), archived.getContent());
+        assertEquals(notifications.get(0).getBooking().getId(), archived.getBookingId());
+        assertNotNull(archived.getArchivedAt());
+
+        assertEquals(0, retentionJob.purgeReadBefore(LocalDateTime.now().minusDays(90)));
+    }
+}
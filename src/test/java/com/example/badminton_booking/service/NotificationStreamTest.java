@@ -0,0 +1,136 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.dto.BookingResponse;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.CourtRepository;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import com.example.badminton_booking.support.TestBookings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.example.badminton_booking.support.TestBookings.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+@H2IntegrationTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class NotificationStreamTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private TestBookings testBookings;
+
+    @Value("${admin.email}")
+    private String adminEmail;
+
+    @Value("${admin.password}")
+    private String adminPassword;
+
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdownNow();
+    }
+
+    @Test
+    void adminStreamReceivesNewBookingRequestsWithoutPolling() throws Exception {
+        String token = login(adminEmail, adminPassword);
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        HttpResponse<Stream<String>> stream = client.send(HttpRequest.newBuilder(
+                        uri("/api/notifications/stream?access_token=" + token)).GET().build(),
+                HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, stream.statusCode());
+        Thread.ofVirtual().start(() -> stream.body().forEach(lines::add));
+        assertEquals(":connected", lines.poll(10, TimeUnit.SECONDS));
+
+        User player = testBookings.createPlayer();
+        Integer courtId = courtRepository.findByIsActiveTrue().get(0).getId();
+        BookingResponse booking = bookingService.createBooking(player.getId(),
+                request(courtId, LocalDate.now().plusWeeks(64), 10));
+
+        String data = nextEvent(lines, "notification");
+        assertEquals(booking.getId().toString(), jsonMapper.readTree(data).get("bookingId").asString());
+        assertEquals("BOOKING_REQUEST", jsonMapper.readTree(data).get("type").asString());
+        stream.body().close();
+    }
+
+    @Test
+    void streamRequiresAToken() throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/api/notifications/stream")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertTrue(response.statusCode() == 401 || response.statusCode() == 403);
+    }
+
+    @Test
+    void onlyEventStreamsTakeTheTokenFromTheUrl() throws Exception {
+        String token = login(adminEmail, adminPassword);
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                        uri("/api/notifications/page?access_token=" + token)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertTrue(response.statusCode() == 401 || response.statusCode() == 403);
+    }
+
+    // Returns the data of the next event with the given name, skipping heartbeats
+    private static String nextEvent(BlockingQueue<String> lines, String name) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        boolean inEvent = false;
+        while (System.nanoTime() < deadline) {
+            String line = lines.poll(1, TimeUnit.SECONDS);
+            if (line == null) {
+                continue;
+            }
+            if (line.equals("event:" + name)) {
+                inEvent = true;
+            } else if (inEvent && line.startsWith("data:")) {
+                return line.substring("data:".length());
+            }
+        }
+        return fail("No '" + name + "' event received");
+    }
+
+    private String login(String email, String password) throws Exception {
+        String body = String.format("{\"email\":\"%s\",\"password\":\"%s\"}", email, password);
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        return jsonMapper.readTree(response.body()).get("accessToken").asString();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.entity.OutboxMessage;
+import com.example.badminton_booking.repository.OutboxMessageRepository;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tiny batches so a run needs several transactions; no dispatcher, so statuses stay as written
+@H2IntegrationTest(properties = {
+        "mail.outbox.retention.batch-size=2",
+        "mail.outbox.retention.pause-ms=0",
+        "mail.outbox.concurrency=0"
+})
+class OutboxRetentionJobTest {
+
+    @Autowired
+    private OutboxRetentionJob retentionJob;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Test
+    void oldSentMessagesAreDeletedInBatchesAndTheRestStay() {
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        List<UUID> oldSent = List.of(save("SENT", old), save("SENT", old.plusHours(1)), save("SENT", old.plusHours(2)));
+        UUID recentSent = save("SENT", LocalDateTime.now().minusDays(1));
+        UUID pending = save("PENDING", null);
+        UUID failed = save("FAILED", null);
+
+        long removed = retentionJob.purgeSentBefore(LocalDateTime.now().minusDays(30));
+
+        assertEquals(3, removed);
+        assertTrue(outboxMessageRepository.findAllById(oldSent).isEmpty());
+        assertEquals(3, outboxMessageRepository.findAllById(List.of(recentSent, pending, failed)).size());
+
+        assertEquals(0, retentionJob.purgeSentBefore(LocalDateTime.now().minusDays(30)));
+    }
+
+    private UUID save(String status, LocalDateTime sentAt) {
+        OutboxMessage message = new OutboxMessage();
+        message.setRecipient("retention@test.com");
+        message.setSubject("Retention");
+        message.setBody("body");
+        message.setStatus(status);
+        message.setNextAttemptAt(sentAt != null ? sentAt : LocalDateTime.now().minusDays(60));
+        message.setSentAt(sentAt);
+        return outboxMessageRepository.save(message).getId();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.dto.LoginRequest;
+import com.example.badminton_booking.dto.RegisterRequest;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.UserRepository;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import com.example.badminton_booking.support.TestBookings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@H2IntegrationTest
+class PasswordRehashTest {
+
+    private static final String PASSWORD = "Player@123";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestBookings testBookings;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void legacyHashIsRewrittenAtTheConfiguredCostOnLogin() {
+        // Stored before hashes carried an {id} prefix, at a cheaper cost than configured
+        User user = testBookings.newPlayer();
+        user.setPassword(new BCryptPasswordEncoder(4).encode(PASSWORD));
+        userRepository.save(user);
+
+        authService.login(login(user.getEmail()));
+
+        String rehashed = userRepository.findByEmail(user.getEmail()).orElseThrow().getPassword();
+        assertTrue(rehashed.startsWith("{bcrypt}$2a$10$"), rehashed);
+
+        authService.login(login(user.getEmail()));
+        assertEquals(rehashed, userRepository.findByEmail(user.getEmail()).orElseThrow().getPassword());
+    }
+
+    @Test
+    void strongerHashIsNotDowngradedOnLogin() {
+        // Written by a node configured with a higher cost
+        User user = testBookings.newPlayer();
+        String stronger = "{bcrypt}" + new BCryptPasswordEncoder(11).encode(PASSWORD);
+        user.setPassword(stronger);
+        userRepository.save(user);
+
+        authService.login(login(user.getEmail()));
+
+        assertEquals(stronger, userRepository.findByEmail(user.getEmail()).orElseThrow().getPassword());
+    }
+
+    @Test
+    void registrationStoresPrefixedHashes() {
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail("register-" + UUID.randomUUID() + "@test.com");
+        request.setPassword(PASSWORD);
+        request.setFullName("New Player");
+        request.setPhone(String.format("09%08d", ThreadLocalRandom.current().nextInt(100_000_000)));
+
+        authService.register(request);
+
+        String hash = userRepository.findByEmail(request.getEmail()).orElseThrow().getPassword();
+        assertTrue(hash.startsWith("{bcrypt}$2a$10$"), hash);
+        assertNotNull(authService.login(login(request.getEmail())).getAccessToken());
+    }
+
+    private static LoginRequest login(String email) {
+        LoginRequest request = new LoginRequest();
+        request.setEmail(email);
+        request.setPassword(PASSWORD);
+        return request;
+    }
+}
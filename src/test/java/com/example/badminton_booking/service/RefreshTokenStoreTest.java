@@ -0,0 +1,145 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.dto.AuthResponse;
+import com.example.badminton_booking.dto.ChangePasswordRequest;
+import com.example.badminton_booking.dto.LoginRequest;
+import com.example.badminton_booking.dto.RefreshTokenRequest;
+import com.example.badminton_booking.dto.RegisterRequest;
+import com.example.badminton_booking.repository.RefreshTokenRepository;
+import com.example.badminton_booking.repository.UserRepository;
+import com.example.badminton_booking.security.JwtTokenProvider;
+import com.example.badminton_booking.security.RevokedSessions;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@H2IntegrationTest
+class RefreshTokenStoreTest {
+
+    private static final String PASSWORD = "Player@123";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private RefreshTokenSweeper refreshTokenSweeper;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private RevokedSessions revokedSessions;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void eachDeviceKeepsItsOwnSessionAndLoginLeavesTheUserRowAlone() {
+        String email = register();
+        LocalDateTime updatedAt = userRepository.findByEmail(email).orElseThrow().getUpdatedAt();
+
+        AuthResponse phone = authService.login(login(email), "Phone");
+        AuthResponse laptop = authService.login(login(email), "Laptop");
+        UUID phoneSession = sessionOf(phone);
+        UUID laptopSession = sessionOf(laptop);
+
+        assertNotEquals(phoneSession, laptopSession);
+        assertEquals("Phone", refreshTokenRepository.findById(phoneSession).orElseThrow().getDevice());
+        assertNotEquals(phone.getRefreshToken(), refreshTokenRepository.findById(phoneSession).orElseThrow().getTokenHash());
+        assertEquals(updatedAt, userRepository.findByEmail(email).orElseThrow().getUpdatedAt());
+
+        // Logging out one device leaves the other signed in
+        authService.logout(phone.getId(), phoneSession);
+
+        assertThrows(RuntimeException.class, () -> authService.refreshToken(refresh(phone)));
+        assertTrue(revokedSessions.isRevoked(phoneSession));
+        assertFalse(revokedSessions.isRevoked(laptopSession));
+
+        AuthResponse refreshed = authService.refreshToken(refresh(laptop));
+        assertEquals(laptop.getRefreshToken(), refreshed.getRefreshToken());
+        assertEquals(laptopSession, jwtTokenProvider.parseToken(refreshed.getAccessToken()).sessionId());
+    }
+
+    @Test
+    void accessTokensAreNotRefreshTokens() {
+        AuthResponse response = authService.login(login(register()), null);
+
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken(response.getAccessToken());
+        assertThrows(RuntimeException.class, () -> authService.refreshToken(request));
+        assertTrue(jwtTokenProvider.parseToken(response.getRefreshToken()).refresh());
+    }
+
+    @Test
+    void changingPasswordSignsOutEveryDevice() {
+        String email = register();
+        AuthResponse first = authService.login(login(email), "A");
+        AuthResponse second = authService.login(login(email), "B");
+
+        ChangePasswordRequest request = new ChangePasswordRequest();
+        request.setOldPassword(PASSWORD);
+        request.setNewPassword("Player@456");
+        authService.changePassword(first.getId(), request);
+
+        assertThrows(RuntimeException.class, () -> authService.refreshToken(refresh(first)));
+        assertThrows(RuntimeException.class, () -> authService.refreshToken(refresh(second)));
+        assertTrue(revokedSessions.isRevoked(sessionOf(second)));
+    }
+
+    @Test
+    void sweeperDeletesExpiredSessions() {
+        AuthResponse response = authService.login(login(register()), null);
+        UUID session = sessionOf(response);
+
+        refreshTokenSweeper.purge(LocalDateTime.now());
+        assertTrue(refreshTokenRepository.existsById(session));
+
+        // Past the refresh-token lifetime
+        refreshTokenSweeper.purge(LocalDateTime.now().plusDays(8));
+        assertFalse(refreshTokenRepository.existsById(session));
+        assertThrows(RuntimeException.class, () -> authService.refreshToken(refresh(response)));
+    }
+
+    private UUID sessionOf(AuthResponse response) {
+        return jwtTokenProvider.parseRefreshToken(response.getRefreshToken()).sessionId();
+    }
+
+    private String register() {
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail("session-" + UUID.randomUUID() + "@test.com");
+        request.setPassword(PASSWORD);
+        request.setFullName("Session Player");
+        request.setPhone(String.format("09%08d", ThreadLocalRandom.current().nextInt(100_000_000)));
+        authService.register(request);
+        return request.getEmail();
+    }
+
+    private static LoginRequest login(String email) {
+        LoginRequest request = new LoginRequest();
+        request.setEmail(email);
+        request.setPassword(PASSWORD);
+        return request;
+    }
+
+    private static RefreshTokenRequest refresh(AuthResponse response) {
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken(response.getRefreshToken());
+        return request;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.dto.ScheduleGrid;
+import com.example.badminton_booking.entity.Booking;
+import com.example.badminton_booking.entity.Court;
+import com.example.badminton_booking.lock.BookingLockManager;
+import com.example.badminton_booking.repository.BookingRepository;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import com.example.badminton_booking.support.TestBookings;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * With cluster-wide locking, bookings written by other nodes never reach this node's index, so
+ * the grid has to come from the database.
+ */
+@H2IntegrationTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "mail.outbox.concurrency=0"
+})
+class ScheduleGridClusterTest {
+
+    @MockitoBean
+    private BookingLockManager bookingLockManager;
+
+    @Autowired
+    private ScheduleGridService scheduleGridService;
+
+    @Autowired
+    private CourtService courtService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestBookings testBookings;
+
+    @Test
+    void futureDaysAreReadFromTheDatabase() {
+        when(bookingLockManager.isClusterWide()).thenReturn(true);
+        Court court = courtService.getActiveCourts().get(0);
+        LocalDate monday = LocalDate.now().plusWeeks(75).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        // Saved directly, the way another node's booking looks from here
+        Booking booking = new Booking();
+        booking.setUser(testBookings.createPlayer());
+        booking.setCourt(court);
+        booking.setBookingDate(monday.plusDays(2));
+        booking.setStartTime(LocalTime.of(9, 0));
+        booking.setEndTime(LocalTime.of(10, 0));
+        booking.setStatus("PENDING");
+        bookingRepository.save(booking);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ScheduleGrid grid = scheduleGridService.getGrid(monday, monday.plusDays(6), 30);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        BitSet wednesday = BitSet.valueOf(Base64.getDecoder().decode(grid.courts().get(0).days().get(2)));
+        int nine = (int) Duration.between(court.getOpenTime(), LocalTime.of(9, 0)).toMinutes() / 30;
+        assertEquals(List.of(nine, nine + 1), wednesday.stream().boxed().toList());
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.dto.BookingResponse;
+import com.example.badminton_booking.dto.ScheduleGrid;
+import com.example.badminton_booking.entity.Booking;
+import com.example.badminton_booking.entity.Court;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.BookingRepository;
+import com.example.badminton_booking.repository.UserRepository;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import com.example.badminton_booking.support.TestBookings;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.badminton_booking.support.TestBookings.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Statistics are global, so the outbox dispatcher is kept idle to not add its own queries
+@H2IntegrationTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "mail.outbox.concurrency=0"
+})
+class ScheduleGridTest {
+
+    @Autowired
+    private ScheduleGridService scheduleGridService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CourtService courtService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private TestBookings testBookings;
+
+    @Value("${admin.email}")
+    private String adminEmail;
+
+    @Test
+    void gridMarksTakenSlotsFromTheIndexAlone() {
+        UUID adminId = userRepository.findByEmail(adminEmail).orElseThrow().getId();
+        User player = testBookings.createPlayer();
+        List<Court> courts = courtService.getActiveCourts();
+        Court court = courts.get(0);
+        LocalDate monday = LocalDate.now().plusWeeks(70).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        BookingResponse approved = bookingService.createBooking(player.getId(), request(court.getId(), monday, 8));
+        bookingService.approveBooking(approved.getId(), adminId);
+        // Pending bookings hold their slot too; 10:15 touches the 10:00 half hour
+        bookingService.createBooking(player.getId(), request(court.getId(), monday, LocalTime.of(10, 15), LocalTime.of(11, 0)));
+        BookingResponse rejected = bookingService.createBooking(player.getId(), request(court.getId(), monday.plusDays(1), 8));
+        bookingService.rejectBooking(rejected.getId(), adminId);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ScheduleGrid grid = scheduleGridService.getGrid(monday, monday.plusDays(6), 30);
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        assertEquals(courts.size(), grid.courts().size());
+        ScheduleGrid.CourtDays row = grid.courts().get(0);
+        assertEquals(court.getId(), row.courtId());
+        assertEquals(7, row.days().size());
+
+        BitSet monday0 = BitSet.valueOf(Base64.getDecoder().decode(row.days().get(0)));
+        assertEquals(List.of(slot(court, "08:00"), slot(court, "08:30"), slot(court, "10:00"), slot(court, "10:30")),
+                monday0.stream().boxed().toList());
+        assertTrue(BitSet.valueOf(Base64.getDecoder().decode(row.days().get(1))).isEmpty());
+        assertTrue(grid.courts().get(1).days().stream()
+                .allMatch(day -> BitSet.valueOf(Base64.getDecoder().decode(day)).isEmpty()));
+
+        // Every day of a court has room for all its slots
+        int slots = (int) Duration.between(court.getOpenTime(), court.getCloseTime()).toMinutes() / 30;
+        assertEquals((slots + 7) / 8, Base64.getDecoder().decode(row.days().get(3)).length);
+    }
+
+    @Test
+    void aWeekOnEveryCourtIsAFewHundredBytes() {
+        UUID adminId = userRepository.findByEmail(adminEmail).orElseThrow().getId();
+        LocalDate monday = LocalDate.now().plusWeeks(71).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        // Busy week: every court booked every day from 08:00 to 20:00 by different players
+        for (Court court : courtService.getActiveCourts()) {
+            for (int day = 0; day < 7; day++) {
+                for (int hour = 8; hour < 20; hour++) {
+                    BookingResponse booking = bookingService.createBooking(testBookings.createPlayer().getId(),
+                            request(court.getId(), monday.plusDays(day), hour));
+                    bookingService.approveBooking(booking.getId(), adminId);
+                }
+            }
+        }
+
+        int weeklyBytes = jsonMapper.writeValueAsBytes(bookingService.getWeeklyBookings(monday, monday.plusDays(6))).length;
+        int gridBytes = jsonMapper.writeValueAsBytes(scheduleGridService.getGrid(monday, monday.plusDays(6), 30)).length;
+        System.out.printf("Week on all courts: weekly bookings %d bytes, grid %d bytes%n", weeklyBytes, gridBytes);
+
+        assertTrue(weeklyBytes > 20_000, "weekly: " + weeklyBytes);
+        assertTrue(gridBytes < 1_000, "grid: " + gridBytes);
+    }
+
+    @Test
+    void pastDaysCostOneQueryAndAreNotIndexed() {
+        User player = testBookings.createPlayer();
+        Court court = courtService.getActiveCourts().get(0);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        LocalDate end = LocalDate.of(2020, 1, 31);
+        // History can't go through createBooking; the index never sees these
+        saveBooking(player, court, start.plusDays(9), "09:00", "10:00", "APPROVED");
+        saveBooking(player, court, start.plusDays(9), "14:00", "15:00", "CANCELLED");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ScheduleGrid grid = scheduleGridService.getGrid(start, end, 30);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        ScheduleGrid.CourtDays row = grid.courts().get(0);
+        assertEquals(31, row.days().size());
+        BitSet tenth = BitSet.valueOf(Base64.getDecoder().decode(row.days().get(9)));
+        assertEquals(List.of(slot(court, "09:00"), slot(court, "09:30")), tenth.stream().boxed().toList());
+        assertTrue(BitSet.valueOf(Base64.getDecoder().decode(row.days().get(10))).isEmpty());
+
+        // Nothing was kept: the next read of the same days queries again, still only once
+        statistics.clear();
+        scheduleGridService.getGrid(start, end, 30);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        // A range running into the present only queries for its past part
+        statistics.clear();
+        LocalDate today = LocalDate.now();
+        scheduleGridService.getGrid(today.minusDays(3), today.plusDays(3), 30);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void rejectsBadRanges() {
+        LocalDate today = LocalDate.now();
+        assertThrows(RuntimeException.class, () -> scheduleGridService.getGrid(today, today.minusDays(1), 30));
+        assertThrows(RuntimeException.class, () -> scheduleGridService.getGrid(today, today.plusDays(60), 30));
+        assertThrows(RuntimeException.class, () -> scheduleGridService.getGrid(today, today, 7));
+    }
+
+    private static int slot(Court court, String time) {
+        return (int) Duration.between(court.getOpenTime(), LocalTime.parse(time)).toMinutes() / 30;
+    }
+
+    private void saveBooking(User player, Court court, LocalDate date, String start, String end, String status) {
+        Booking booking = new Booking();
+        booking.setUser(player);
+        booking.setCourt(court);
+        booking.setBookingDate(date);
+        booking.setStartTime(LocalTime.parse(start));
+        booking.setEndTime(LocalTime.parse(end));
+        booking.setStatus(status);
+        bookingRepository.save(booking);
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.dto.BookingResponse;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.CourtRepository;
+import com.example.badminton_booking.repository.UserRepository;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import com.example.badminton_booking.support.TestBookings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.example.badminton_booking.support.TestBookings.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+@H2IntegrationTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class SlotStreamTest {
+
+    private static final int VIEWERS = 8;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private TestBookings testBookings;
+
+    @Value("${admin.email}")
+    private String adminEmail;
+
+    @Value("${admin.password}")
+    private String adminPassword;
+
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdownNow();
+    }
+
+    @Test
+    void subscribersSeeSlotsTakenAndFreedOnTheirCourtAndWeekOnly() throws Exception {
+        UUID adminId = userRepository.findByEmail(adminEmail).orElseThrow().getId();
+        User player = testBookings.createPlayer();
+        List<Integer> courtIds = courtRepository.findByIsActiveTrue().stream().map(c -> c.getId()).toList();
+        LocalDate monday = LocalDate.now().plusWeeks(65).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        BlockingQueue<String> events = subscribe(courtIds.get(0), monday.plusDays(3), login(adminEmail, adminPassword));
+
+        // Other court and other week: not for this subscriber
+        bookingService.createBooking(player.getId(), request(courtIds.get(1), monday.plusDays(1), 8));
+        bookingService.createBooking(player.getId(), request(courtIds.get(0), monday.plusWeeks(1), 8));
+        BookingResponse booking = bookingService.createBooking(player.getId(), request(courtIds.get(0), monday.plusDays(2), 9));
+
+        JsonNode taken = jsonMapper.readTree(events.poll(10, TimeUnit.SECONDS));
+        assertEquals("SLOT_TAKEN", taken.get("type").asString());
+        assertEquals(booking.getId().toString(), taken.get("bookingId").asString());
+        assertEquals("09:00:00", taken.get("startTime").asString());
+
+        // Approving keeps the slot taken, so nothing is sent until the rejection frees it
+        bookingService.approveBooking(booking.getId(), adminId);
+        bookingService.rejectBooking(booking.getId(), adminId);
+
+        JsonNode freed = jsonMapper.readTree(events.poll(10, TimeUnit.SECONDS));
+        assertEquals("SLOT_FREED", freed.get("type").asString());
+        assertEquals(booking.getId().toString(), freed.get("bookingId").asString());
+        assertNull(events.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void everyViewerOfAPopularCourtStaysConnected() throws Exception {
+        User player = testBookings.createPlayer();
+        Integer courtId = courtRepository.findByIsActiveTrue().get(0).getId();
+        LocalDate monday = LocalDate.now().plusWeeks(74).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        String token = login(adminEmail, adminPassword);
+
+        // More viewers than sse.max-connections-per-topic, which only limits a user's own tabs
+        List<BlockingQueue<String>> viewers = new ArrayList<>();
+        for (int i = 0; i < VIEWERS; i++) {
+            viewers.add(subscribe(courtId, monday, token));
+        }
+        BookingResponse booking = bookingService.createBooking(player.getId(), request(courtId, monday, 8));
+
+        for (BlockingQueue<String> events : viewers) {
+            JsonNode taken = jsonMapper.readTree(events.poll(10, TimeUnit.SECONDS));
+            assertEquals(booking.getId().toString(), taken.get("bookingId").asString());
+        }
+    }
+
+    // Data lines of "slot" events, in arrival order
+    private BlockingQueue<String> subscribe(Integer courtId, LocalDate weekOf, String token) throws Exception {
+        HttpResponse<Stream<String>> stream = client.send(HttpRequest.newBuilder(uri("/api/bookings/court/" + courtId
+                        + "/weekly/stream?weekOf=" + weekOf + "&access_token=" + token)).GET().build(),
+                HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, stream.statusCode());
+
+        BlockingQueue<String> connected = new LinkedBlockingQueue<>();
+        BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        Thread.ofVirtual().start(() -> stream.body().forEach(line -> {
+            if (line.startsWith(":connected")) {
+                connected.add(line);
+            } else if (line.startsWith("data:")) {
+                events.add(line.substring("data:".length()));
+            }
+        }));
+        assertNotNull(connected.poll(10, TimeUnit.SECONDS));
+        return events;
+    }
+
+    private String login(String email, String password) throws Exception {
+        String body = String.format("{\"email\":\"%s\",\"password\":\"%s\"}", email, password);
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        return jsonMapper.readTree(response.body()).get("accessToken").asString();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
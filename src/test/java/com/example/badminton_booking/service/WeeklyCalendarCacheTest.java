@@ -0,0 +1,101 @@
+package com.example.badminton_booking.service;
+
+import com.example.badminton_booking.dto.BookingResponse;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.CourtRepository;
+import com.example.badminton_booking.repository.UserRepository;
+import com.example.badminton_booking.support.H2IntegrationTest;
+import com.example.badminton_booking.support.TestBookings;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.badminton_booking.support.TestBookings.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+@H2IntegrationTest
+class WeeklyCalendarCacheTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestBookings testBookings;
+
+    @Value("${admin.email}")
+    private String adminEmail;
+
+    @Test
+    void repeatedReadsAreServedFromMemoryUntilABookingIsApproved() {
+        UUID adminId = userRepository.findByEmail(adminEmail).orElseThrow().getId();
+        User player = testBookings.createPlayer();
+        List<Integer> courtIds = courtRepository.findByIsActiveTrue().stream().map(c -> c.getId()).toList();
+        // Far enough ahead that no other test books this week
+        LocalDate monday = LocalDate.now().plusWeeks(20).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate sunday = monday.plusDays(6);
+
+        BookingResponse first = bookingService.createBooking(player.getId(), request(courtIds.get(0), monday.plusDays(2), 8));
+        bookingService.approveBooking(first.getId(), adminId);
+
+        double hits = hits();
+        assertEquals(List.of(first.getId()), ids(bookingService.getWeeklyBookings(monday, sunday)));
+        assertEquals(List.of(first.getId()), ids(bookingService.getWeeklyBookings(monday, sunday)));
+        assertEquals(List.of(first.getId()), ids(bookingService.getBookingsByCourtAndWeek(courtIds.get(0), monday, sunday)));
+        assertEquals(List.of(), ids(bookingService.getBookingsByCourtAndWeek(courtIds.get(1), monday, sunday)));
+        assertTrue(hits() >= hits + 3, "calendar reads after the first should hit the cache");
+
+        // A pending booking is not shown, so it must not disturb the cached week
+        BookingResponse second = bookingService.createBooking(player.getId(), request(courtIds.get(1), monday.plusDays(4), 10));
+        assertEquals(List.of(first.getId()), ids(bookingService.getWeeklyBookings(monday, sunday)));
+
+        bookingService.approveBooking(second.getId(), adminId);
+        assertEquals(List.of(first.getId(), second.getId()), ids(bookingService.getWeeklyBookings(monday, sunday)));
+        assertEquals(List.of(second.getId()), ids(bookingService.getWeeklyBookings(monday.plusDays(3), sunday)));
+
+        bookingService.rejectBooking(first.getId(), adminId);
+        assertEquals(List.of(second.getId()), ids(bookingService.getWeeklyBookings(monday, sunday)));
+    }
+
+    @Test
+    void renamingAPlayerRefreshesTheWeeksShowingThem() {
+        UUID adminId = userRepository.findByEmail(adminEmail).orElseThrow().getId();
+        User player = testBookings.createPlayer();
+        Integer courtId = courtRepository.findByIsActiveTrue().get(0).getId();
+        LocalDate monday = LocalDate.now().plusWeeks(30).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        BookingResponse booking = bookingService.createBooking(player.getId(), request(courtId, monday, 9));
+        bookingService.approveBooking(booking.getId(), adminId);
+        assertEquals(player.getFullName(), bookingService.getWeeklyBookings(monday, monday.plusDays(6)).get(0).getUserFullName());
+
+        player = userRepository.findById(player.getId()).orElseThrow();
+        player.setFullName("Renamed Player");
+        userRepository.save(player);
+
+        assertEquals("Renamed Player", bookingService.getWeeklyBookings(monday, monday.plusDays(6)).get(0).getUserFullName());
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets").tag("cache", "bookingWeeklyCalendar").tag("result", "hit")
+                .functionCounter().count();
+    }
+
+    private static List<UUID> ids(List<BookingResponse> bookings) {
+        return bookings.stream().map(BookingResponse::getId).toList();
+    }
+}
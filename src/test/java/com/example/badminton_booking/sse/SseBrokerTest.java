@@ -0,0 +1,49 @@
+package com.example.badminton_booking.sse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseBrokerTest {
+
+    private final SseBroker broker = new SseBroker(new SimpleMeterRegistry(), 8, 30, 2, 4);
+
+    @AfterEach
+    void tearDown() {
+        broker.shutdown();
+    }
+
+    @Test
+    void aUsersOldestTabMakesRoomForTheNewest() {
+        for (int i = 0; i < 5; i++) {
+            broker.subscribe("notifications:user", true);
+        }
+
+        assertEquals(2, broker.connectionCount());
+    }
+
+    @Test
+    void sharedTopicsAreOnlyBoundedByTheNodeLimit() {
+        for (int i = 0; i < 4; i++) {
+            broker.subscribe("slots:1:2030-01-07", false);
+        }
+        assertEquals(4, broker.connectionCount());
+
+        assertThrows(SseCapacityExceededException.class, () -> broker.subscribe("slots:1:2030-01-07", false));
+        assertThrows(SseCapacityExceededException.class, () -> broker.subscribe("notifications:user", true));
+        assertEquals(4, broker.connectionCount());
+    }
+
+    @Test
+    void aUserAtTheirTabLimitCanStillReconnectWhenTheNodeIsFull() {
+        broker.subscribe("notifications:user", true);
+        broker.subscribe("notifications:user", true);
+        broker.subscribe("slots:1:2030-01-07", false);
+        broker.subscribe("slots:1:2030-01-07", false);
+
+        broker.subscribe("notifications:user", true);
+        assertEquals(4, broker.connectionCount());
+    }
+}
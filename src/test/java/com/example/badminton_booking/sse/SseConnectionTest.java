@@ -0,0 +1,78 @@
+package com.example.badminton_booking.sse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseConnectionTest {
+
+    @Test
+    void eventsAreWrittenInOrder() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        SseConnection connection = new SseConnection("test", emitter, 8, c -> { });
+        connection.start();
+
+        assertTrue(connection.offer("first", "1"));
+        assertTrue(connection.offer(null, "ping"));
+        assertTrue(connection.offer("second", "2"));
+
+        assertTrue(emitter.sent.await(5, TimeUnit.SECONDS));
+        assertTrue(emitter.events.get(0).contains("event:first"));
+        assertTrue(emitter.events.get(1).startsWith(":ping"));
+        assertTrue(emitter.events.get(2).contains("event:second"));
+        connection.close();
+    }
+
+    @Test
+    void clientThatFallsAFullBufferBehindIsDisconnected() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter emitter = new RecordingEmitter(release);
+        CountDownLatch removed = new CountDownLatch(1);
+        SseConnection connection = new SseConnection("test", emitter, 2, c -> removed.countDown());
+        connection.start();
+
+        assertTrue(connection.offer("stuck", "0"));
+        assertTrue(emitter.writing.await(5, TimeUnit.SECONDS));
+        assertTrue(connection.offer("queued", "1"));
+        assertTrue(connection.offer("queued", "2"));
+
+        assertFalse(connection.offer("overflow", "3"));
+        assertEquals(0, removed.getCount());
+        assertFalse(connection.offer("after-close", "4"));
+        release.countDown();
+    }
+
+    // Records what would go on the wire; optionally blocks the first write like a stalled socket
+    private static final class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch release;
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch sent = new CountDownLatch(3);
+        private final List<String> events = new CopyOnWriteArrayList<>();
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            writing.countDown();
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            events.add(builder.build().stream().map(part -> part.getData().toString()).collect(Collectors.joining()));
+            sent.countDown();
+        }
+    }
+}
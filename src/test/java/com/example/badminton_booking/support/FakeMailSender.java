@@ -0,0 +1,103 @@
+package com.example.badminton_booking.support;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory {@link JavaMailSender} that simulates SMTP latency: a fixed cost per connection
+ * (one per {@code send} call) plus a cost per message.
+ */
+public class FakeMailSender implements JavaMailSender {
+
+    private final long connectMillis;
+    private final long perMessageMillis;
+    private final ConcurrentLinkedQueue<SimpleMailMessage> delivered = new ConcurrentLinkedQueue<>();
+    private final Set<String> failOnce = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    public FakeMailSender(long connectMillis, long perMessageMillis) {
+        this.connectMillis = connectMillis;
+        this.perMessageMillis = perMessageMillis;
+    }
+
+    public void failOnceFor(String recipient) {
+        failOnce.add(recipient);
+    }
+
+    public List<SimpleMailMessage> getDelivered() {
+        return List.copyOf(delivered);
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    @Override
+    public void send(SimpleMailMessage... messages) {
+        connections.incrementAndGet();
+        sleep(connectMillis);
+        Map<Object, Exception> failed = new LinkedHashMap<>();
+        for (SimpleMailMessage message : messages) {
+            sleep(perMessageMillis);
+            String to = message.getTo()[0];
+            if (failOnce.remove(to)) {
+                failed.put(message, new IllegalStateException("451 Temporary failure for " + to));
+            } else {
+                delivered.add(message);
+            }
+        }
+        if (!failed.isEmpty()) {
+            throw new MailSendException(failed);
+        }
+    }
+
+    @Override
+    public void send(SimpleMailMessage message) {
+        send(new SimpleMailMessage[]{message});
+    }
+
+    @Override
+    public MimeMessage createMimeMessage() {
+        return new MimeMessage(Session.getInstance(new Properties()));
+    }
+
+    @Override
+    public MimeMessage createMimeMessage(InputStream contentStream) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void send(MimeMessage... mimeMessages) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void send(MimeMessagePreparator... mimeMessagePreparators) {
+        throw new UnsupportedOperationException();
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
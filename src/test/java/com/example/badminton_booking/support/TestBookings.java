@@ -0,0 +1,60 @@
+package com.example.badminton_booking.support;
+
+import com.example.badminton_booking.dto.BookingRequest;
+import com.example.badminton_booking.entity.User;
+import com.example.badminton_booking.repository.RoleRepository;
+import com.example.badminton_booking.repository.UserRepository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Players and booking requests for integration tests. Every player gets a fresh email, so tests
+ * sharing a context never collide.
+ */
+public class TestBookings {
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+
+    public TestBookings(UserRepository userRepository, RoleRepository roleRepository) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+    }
+
+    public User createPlayer() {
+        return userRepository.save(newPlayer());
+    }
+
+    // Not saved, for tests that persist users themselves
+    public User newPlayer() {
+        String suffix = UUID.randomUUID().toString();
+        User user = new User();
+        user.setEmail("player-" + suffix + "@test.com");
+        user.setPassword("not-used");
+        user.setFullName("Test Player " + suffix.substring(0, 8));
+        user.setPhone("0912345678");
+        user.setRole(roleRepository.findByName("USER").orElseThrow());
+        user.setIsActive(true);
+        return user;
+    }
+
+    // One hour from hour:00
+    public static BookingRequest request(Integer courtId, LocalDate date, int hour) {
+        return request(courtId, date, hour, hour + 1);
+    }
+
+    public static BookingRequest request(Integer courtId, LocalDate date, int startHour, int endHour) {
+        return request(courtId, date, LocalTime.of(startHour, 0), LocalTime.of(endHour, 0));
+    }
+
+    public static BookingRequest request(Integer courtId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        BookingRequest request = new BookingRequest();
+        request.setCourtId(courtId);
+        request.setBookingDate(date);
+        request.setStartTime(startTime);
+        request.setEndTime(endTime);
+        return request;
+    }
+}